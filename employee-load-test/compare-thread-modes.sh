@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Runs the same scenario against sprint-boot-testing on Tomcat's platform-thread pool and on virtual threads
+# and appends both runs to one CSV, labelled by mode. Needs JAVA_HOME pointing at a Java 21 JDK.
+# The app runs on in-memory H2 here; set APP_PROFILES/MAVEN_PROFILES to point it at PostgreSQL for slow-DB runs.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+APP_DIR=../sprint-boot-testing
+APP_PROFILES=${APP_PROFILES:-h2}
+MAVEN_PROFILES=${MAVEN_PROFILES:-h2,java21}
+REPORT=${REPORT:-target/thread-modes.csv}
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-60}
+
+mkdir -p "$(dirname "$REPORT")"
+mvn -q compile
+
+for mode in platform virtual; do
+  profiles=$APP_PROFILES
+  if [ "$mode" = virtual ]; then
+    profiles=$APP_PROFILES,virtual-threads
+  fi
+
+  (cd "$APP_DIR" && mvn -q -P"$MAVEN_PROFILES" spring-boot:start -Dspring-boot.run.profiles="$profiles")
+  trap '(cd "$APP_DIR" && mvn -q spring-boot:stop)' EXIT
+
+  mvn -q exec:java \
+    -Dload.concurrency="$CONCURRENCY" \
+    -Dload.duration="$DURATION" \
+    -Dload.label="$mode-threads" \
+    -Dload.report="$REPORT"
+
+  (cd "$APP_DIR" && mvn -q spring-boot:stop)
+  trap - EXIT
+done
+
+echo "Results appended to $REPORT"
@@ -0,0 +1,76 @@
+package com.msbeigi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// thin blocking client, ids are kept as text because the JPA app uses numbers and the WebFlux app ObjectIds
+public class EmployeeApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI employeesUri;
+
+    public EmployeeApiClient(URI baseUrl, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.employeesUri = baseUrl.resolve("/api/employees");
+    }
+
+    public HttpResponse<byte[]> create(String firstName, String lastName, String email) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(employeesUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(employeeJson(firstName, lastName, email))));
+    }
+
+    public HttpResponse<byte[]> get(String id) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(employeeUri(id)).GET());
+    }
+
+    public HttpResponse<byte[]> list() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(employeesUri).GET());
+    }
+
+    public HttpResponse<byte[]> update(String id, String firstName, String lastName, String email) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(employeeUri(id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(employeeJson(firstName, lastName, email))));
+    }
+
+    public HttpResponse<byte[]> delete(String id) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(employeeUri(id)).DELETE());
+    }
+
+    public String readId(HttpResponse<byte[]> response) throws IOException {
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        return id == null || id.isNull() ? null : id.asText();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI employeeUri(String id) {
+        return URI.create(employeesUri + "/" + id);
+    }
+
+    private byte[] employeeJson(String firstName, String lastName, String email) throws IOException {
+        ObjectNode employee = objectMapper.createObjectNode()
+                .put("firstName", firstName)
+                .put("lastName", lastName)
+                .put("email", email);
+        return objectMapper.writeValueAsBytes(employee);
+    }
+}
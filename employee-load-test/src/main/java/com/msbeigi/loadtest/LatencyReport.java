@@ -0,0 +1,97 @@
+package com.msbeigi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// latencies are recorded in microseconds, one histogram per operation plus an error counter
+public class LatencyReport {
+
+    private static final String CSV_HEADER = "timestamp,target,operation,count,errors,rps,p50_ms,p99_ms,p999_ms,max_ms";
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void record(Operation operation, long latencyNanos, boolean success) {
+        histograms.get(operation).recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        out.printf("%-28s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.getEndpoint(),
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    rps(histogram, elapsed),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    // appends one row per operation so runs against both applications can be compared side by side
+    public void appendCsv(Path file, String target, Duration elapsed) throws IOException {
+        StringBuilder rows = new StringBuilder();
+        if (Files.notExists(file)) {
+            rows.append(CSV_HEADER).append('\n');
+        }
+        String timestamp = Instant.now().toString();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            rows.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n",
+                    timestamp, target, operation,
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    rps(histogram, elapsed),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        Files.writeString(file, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static double rps(Histogram histogram, Duration elapsed) {
+        return histogram.getTotalCount() / Math.max(0.001, elapsed.toNanos() / 1e9);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,160 @@
+package com.msbeigi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for {@code /api/employees}. Both applications expose the same endpoints,
+ * so running the same {@link LoadTestConfig} against each one gives directly comparable numbers.
+ */
+public class LoadTestApplication {
+
+    private final LoadTestConfig config;
+    private final EmployeeApiClient client;
+    private final LatencyReport report = new LatencyReport();
+    private final IdPool ids = new IdPool();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final Operation[] operationWheel;
+
+    private volatile boolean recording;
+    private volatile long deadline;
+
+    public LoadTestApplication(LoadTestConfig config) {
+        this.config = config;
+        this.client = new EmployeeApiClient(config.baseUrl(), new ObjectMapper());
+        this.operationWheel = operationWheel(config.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LoadTestApplication loadTest = new LoadTestApplication(config);
+        Duration elapsed = loadTest.run();
+
+        System.out.printf(Locale.ROOT, "%n%s  concurrency=%d  duration=%.1fs  mix=%s%n%n",
+                config.baseUrl(), config.concurrency(), elapsed.toMillis() / 1000.0, config.mix());
+        loadTest.report.print(System.out, elapsed);
+        if (config.report() != null) {
+            loadTest.report.appendCsv(Path.of(config.report()), config.label(), elapsed);
+        }
+    }
+
+    public Duration run() throws Exception {
+        for (int i = 0; i < config.seed(); i++) {
+            execute(Operation.CREATE);
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        long start = System.nanoTime();
+        deadline = start + config.warmup().toNanos() + config.duration().toNanos();
+        for (int i = 0; i < config.concurrency(); i++) {
+            workers.submit(this::work);
+        }
+
+        TimeUnit.NANOSECONDS.sleep(config.warmup().toNanos());
+        report.reset();
+        recording = true;
+        long measureStart = System.nanoTime();
+
+        workers.shutdown();
+        workers.awaitTermination(config.duration().toSeconds() + 60, TimeUnit.SECONDS);
+        return Duration.ofNanos(System.nanoTime() - measureStart);
+    }
+
+    private Void work() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            execute(operationWheel[random.nextInt(operationWheel.length)]);
+        }
+        return null;
+    }
+
+    private void execute(Operation operation) {
+        String id = null;
+        if (operation != Operation.CREATE && operation != Operation.LIST) {
+            // deletes take the id out of the pool so no other client reads or updates a removed employee
+            id = operation == Operation.DELETE ? ids.take() : ids.peek();
+            if (id == null) {
+                operation = Operation.CREATE;
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<byte[]> response = switch (operation) {
+                case CREATE -> client.create("Load", "Test", nextEmail());
+                case GET -> client.get(id);
+                case LIST -> client.list();
+                case UPDATE -> client.update(id, "Load", "Updated", nextEmail());
+                case DELETE -> client.delete(id);
+            };
+            success = response.statusCode() < 400;
+            if (success && operation == Operation.CREATE) {
+                ids.add(client.readId(response));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            success = false;
+        }
+        if (recording) {
+            report.record(operation, System.nanoTime() - start, success);
+        }
+    }
+
+    private String nextEmail() {
+        return "load-" + runId + "-" + emailSequence.incrementAndGet() + "@example.com";
+    }
+
+    // expands the weights into a lookup table so picking an operation is a single random index
+    private static Operation[] operationWheel(Map<Operation, Integer> mix) {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(operation);
+            }
+        });
+        return wheel.toArray(Operation[]::new);
+    }
+
+    private static class IdPool {
+
+        private final List<String> ids = new ArrayList<>();
+
+        synchronized void add(String id) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+
+        synchronized String peek() {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        synchronized String take() {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            String id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
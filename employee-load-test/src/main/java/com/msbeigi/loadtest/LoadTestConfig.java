@@ -0,0 +1,60 @@
+package com.msbeigi.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Run settings, read from system properties so the same scenario can be pointed at either application:
+ * <pre>
+ * load.base-url     http://localhost:8080
+ * load.concurrency  16 concurrent clients, each waits for its response before sending the next request
+ * load.duration     60 seconds measured
+ * load.warmup       10 seconds run before measuring, not recorded
+ * load.seed         200 employees created before the run so reads have something to hit
+ * load.mix          create=20,get=50,list=5,update=15,delete=10 relative weights
+ * load.report       optional CSV file the summary is appended to
+ * load.label        target column of the CSV rows, defaults to the base url
+ * </pre>
+ */
+public record LoadTestConfig(URI baseUrl,
+                             int concurrency,
+                             Duration duration,
+                             Duration warmup,
+                             int seed,
+                             Map<Operation, Integer> mix,
+                             String report,
+                             String label) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                URI.create(System.getProperty("load.base-url", "http://localhost:8080")),
+                Integer.getInteger("load.concurrency", 16),
+                Duration.ofSeconds(Long.getLong("load.duration", 60L)),
+                Duration.ofSeconds(Long.getLong("load.warmup", 10L)),
+                Integer.getInteger("load.seed", 200),
+                parseMix(System.getProperty("load.mix", "create=20,get=50,list=5,update=15,delete=10")),
+                System.getProperty("load.report"),
+                System.getProperty("load.label", System.getProperty("load.base-url", "http://localhost:8080")));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,174 @@
+package com.msbeigi.webfluxtest.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.entity.Employee;
+import com.msbeigi.webfluxtest.mapper.EmployeeDtoMapper;
+import com.msbeigi.webfluxtest.mapper.EmployeeMapper;
+import lombok.Getter;
+import lombok.Setter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// generated mappers and constructor-based Mongo reads against the hand-written mappers and setter-populated
+// entity they replaced; run with -prof gc to compare gc.alloc.rate.norm per operation
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMappingBenchmark {
+
+    private static final int FLUX_SIZE = 1_000;
+
+    private final EmployeeMapper employeeMapper = Mappers.getMapper(EmployeeMapper.class);
+    private final EmployeeDtoMapper employeeDtoMapper = Mappers.getMapper(EmployeeDtoMapper.class);
+    private final Function<Employee, EmployeeDto> handWrittenEmployeeMapper = new HandWrittenEmployeeMapper();
+    private final Function<EmployeeDto, Employee> handWrittenEmployeeDtoMapper = new HandWrittenEmployeeDtoMapper();
+    // same defaults as the ObjectMapper Spring Boot hands to the WebFlux codecs
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private MappingMongoConverter mongoConverter;
+    private Employee employee;
+    private EmployeeDto employeeDto;
+    private String employeeDtoJson;
+    private Document employeeDocument;
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        employee = Employee.builder()
+                .id("6571c5a2e4b0a1b2c3d4e5f6")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .version(3L)
+                .build();
+        employeeDto = employeeMapper.apply(employee);
+        employeeDtoJson = objectMapper.writeValueAsString(employeeDto);
+
+        mongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        mongoConverter.afterPropertiesSet();
+        employeeDocument = new Document("_id", new ObjectId(employee.getId()))
+                .append("firstName", employee.getFirstName())
+                .append("lastName", employee.getLastName())
+                .append("email", employee.getEmail())
+                .append("version", employee.getVersion());
+
+        employees = new ArrayList<>(FLUX_SIZE);
+        for (int i = 0; i < FLUX_SIZE; i++) {
+            employees.add(Employee.builder()
+                    .id(new ObjectId().toHexString())
+                    .firstName("Mohsen" + i)
+                    .lastName("Sadeghbeigi")
+                    .email("mohsen" + i + "@gmail.com")
+                    .version((long) i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public EmployeeDto mapToEmployeeDto() {
+        return employeeMapper.apply(employee);
+    }
+
+    @Benchmark
+    public EmployeeDto mapToEmployeeDtoHandWritten() {
+        return handWrittenEmployeeMapper.apply(employee);
+    }
+
+    @Benchmark
+    public Employee mapToEmployee() {
+        return employeeDtoMapper.apply(employeeDto);
+    }
+
+    @Benchmark
+    public Employee mapToEmployeeHandWritten() {
+        return handWrittenEmployeeDtoMapper.apply(employeeDto);
+    }
+
+    // the shape of every service read: Flux<Employee>.map(mapper)
+    @Benchmark
+    @OperationsPerInvocation(FLUX_SIZE)
+    public List<EmployeeDto> mapFluxToEmployeeDtos() {
+        return Flux.fromIterable(employees).map(employeeMapper).collectList().block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FLUX_SIZE)
+    public List<EmployeeDto> mapFluxToEmployeeDtosHandWritten() {
+        return Flux.fromIterable(employees).map(handWrittenEmployeeMapper).collectList().block();
+    }
+
+    // @PersistenceCreator constructor, one generated instantiator call per document
+    @Benchmark
+    public Employee readEmployeeDocument() {
+        return mongoConverter.read(Employee.class, employeeDocument);
+    }
+
+    // no-args constructor, then one generated property accessor call per field
+    @Benchmark
+    public SetterPopulatedEmployee readEmployeeDocumentThroughSetters() {
+        return mongoConverter.read(SetterPopulatedEmployee.class, employeeDocument);
+    }
+
+    @Benchmark
+    public String serializeEmployeeDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(employeeDto);
+    }
+
+    @Benchmark
+    public EmployeeDto deserializeEmployeeDto() throws JsonProcessingException {
+        return objectMapper.readValue(employeeDtoJson, EmployeeDto.class);
+    }
+
+    // the mappers as they were before the generated ones
+    static final class HandWrittenEmployeeMapper implements Function<Employee, EmployeeDto> {
+        @Override
+        public EmployeeDto apply(Employee employee) {
+            return new EmployeeDto(
+                    employee.getId(),
+                    employee.getFirstName(),
+                    employee.getLastName(),
+                    employee.getEmail(),
+                    employee.getVersion());
+        }
+    }
+
+    static final class HandWrittenEmployeeDtoMapper implements Function<EmployeeDto, Employee> {
+        @Override
+        public Employee apply(EmployeeDto employeeDto) {
+            return new Employee(
+                    employeeDto.getId(),
+                    employeeDto.getFirstName(),
+                    employeeDto.getLastName(),
+                    employeeDto.getEmail(),
+                    employeeDto.getVersion());
+        }
+    }
+
+    // Employee as it was mapped before it declared a @PersistenceCreator
+    @Getter
+    @Setter
+    public static class SetterPopulatedEmployee {
+        private String id;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private Long version;
+    }
+}
@@ -0,0 +1,66 @@
+package com.msbeigi.webfluxtest.benchmark;
+
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.mapper.EmployeeDtoMapper;
+import com.msbeigi.webfluxtest.mapper.EmployeeMapper;
+import com.msbeigi.webfluxtest.service.EmployeeService;
+import com.msbeigi.webfluxtest.service.impl.EmployeeServiceImpl;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// measures the service and mapping pipeline without MongoDB, the repository is an in-memory stand-in
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 1_000;
+
+    private InMemoryEmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+    private String employeeId;
+    private EmployeeDto employeeDto;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        employeeRepository = new InMemoryEmployeeRepository();
+        employeeService = new EmployeeServiceImpl(employeeRepository, Mappers.getMapper(EmployeeDtoMapper.class),
+                Mappers.getMapper(EmployeeMapper.class), Duration.ZERO, 100);
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employeeService.saveEmployee(EmployeeDto.builder()
+                    .firstName("Mohsen" + i)
+                    .lastName("Sadeghbeigi")
+                    .email("mohsen" + i + "@gmail.com")
+                    .build()).block();
+        }
+        employeeDto = employeeService.getAllEmployees().blockFirst();
+        employeeId = employeeDto.getId();
+    }
+
+    @Benchmark
+    public EmployeeDto getEmployee() {
+        return employeeService.getEmployee(employeeId).block();
+    }
+
+    @Benchmark
+    public List<EmployeeDto> getAllEmployees() {
+        return employeeService.getAllEmployees().collectList().block();
+    }
+
+    @Benchmark
+    public EmployeeDto updateEmployee() {
+        // unconditional update, the version check is skipped when the dto carries no version
+        return employeeService.updateEmployee(EmployeeDto.builder()
+                .firstName(employeeDto.getFirstName())
+                .lastName(employeeDto.getLastName())
+                .email(employeeDto.getEmail())
+                .build(), employeeId).block();
+    }
+}
@@ -0,0 +1,211 @@
+package com.msbeigi.webfluxtest.benchmark;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.entity.Employee;
+import com.msbeigi.webfluxtest.repository.EmployeeRepository;
+import org.bson.BsonValue;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// map-backed stand-in for the Mongo repository, mimics id generation and @Version increments
+class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    private final Map<String, Employee> employees = new ConcurrentHashMap<>();
+
+    @Override
+    public <S extends Employee> Mono<S> save(S entity) {
+        return Mono.fromSupplier(() -> {
+            if (entity.getId() == null) {
+                entity.setId(UUID.randomUUID().toString());
+            }
+            entity.setVersion(entity.getVersion() == null ? 0L : entity.getVersion() + 1);
+            employees.put(entity.getId(), copyOf(entity));
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Employee> findById(String id) {
+        return Mono.fromSupplier(() -> employees.get(id)).map(InMemoryEmployeeRepository::copyOf);
+    }
+
+    @Override
+    public Mono<Employee> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> employees.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Employee> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(employees.values())).map(InMemoryEmployeeRepository::copyOf);
+    }
+
+    @Override
+    public Flux<Employee> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Employee> findAllById(Publisher<String> idStream) {
+        return Flux.from(idStream).concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) employees.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> employees.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Employee entity) {
+        return deleteById(entity.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(employees::remove));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Employee> entities) {
+        return Mono.fromRunnable(() -> entities.forEach(employee -> employees.remove(employee.getId())));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Employee> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(employees::clear);
+    }
+
+    @Override
+    public Mono<EmployeeDto> findDtoById(String id) {
+        return Mono.fromSupplier(() -> employees.get(id)).map(InMemoryEmployeeRepository::toDto);
+    }
+
+    @Override
+    public Flux<EmployeeDto> findDtoByIdIn(Collection<String> ids) {
+        return Flux.defer(() -> Flux.fromIterable(ids)).mapNotNull(employees::get).map(InMemoryEmployeeRepository::toDto);
+    }
+
+    @Override
+    public Flux<EmployeeDto> findAllProjected(Collection<String> fields) {
+        return Flux.defer(() -> Flux.fromIterable(employees.values())).map(InMemoryEmployeeRepository::toDto);
+    }
+
+    @Override
+    public Flux<EmployeeDto> findPageAfter(String afterId, int limit) {
+        return Flux.defer(() -> Flux.fromStream(employees.values().stream()
+                        .filter(employee -> afterId == null || employee.getId().compareTo(afterId) > 0)
+                        .sorted(Comparator.comparing(Employee::getId))
+                        .limit(limit)))
+                .map(InMemoryEmployeeRepository::toDto);
+    }
+
+    @Override
+    public Mono<Employee> findByEmailIgnoreCase(String email) {
+        return findAll().filter(employee -> email.equalsIgnoreCase(employee.getEmail())).next();
+    }
+
+    @Override
+    public Flux<Employee> findByLastNameAndFirstName(String lastName, String firstName) {
+        return findAll().filter(employee -> lastName.equals(employee.getLastName()) && firstName.equals(employee.getFirstName()));
+    }
+
+    @Override
+    public Mono<Long> removeById(String id) {
+        return Mono.fromSupplier(() -> employees.remove(id) != null ? 1L : 0L);
+    }
+
+    @Override
+    public Mono<Long> deleteByIdAndVersion(String id, Long version) {
+        return Mono.fromSupplier(() -> {
+            Employee employee = employees.get(id);
+            return employee != null && Objects.equals(employee.getVersion(), version)
+                    && employees.remove(id, employee) ? 1L : 0L;
+        });
+    }
+
+    @Override
+    public Flux<Employee> streamAll(int batchSize) {
+        return findAll();
+    }
+
+    @Override
+    public Mono<BulkWriteResult> bulkUpsert(List<Employee> employees) {
+        return Mono.error(new UnsupportedOperationException("bulk upserts are not part of the service benchmark"));
+    }
+
+    @Override
+    public Flux<ChangeStreamEvent<Employee>> watchChanges(BsonValue resumeToken) {
+        return Flux.error(new UnsupportedOperationException("change streams are not part of the service benchmark"));
+    }
+
+    @Override
+    public Mono<Employee> findAndUpdate(String id, Long expectedVersion, Employee changes) {
+        return Mono.fromSupplier(() -> employees.computeIfPresent(id, (key, employee) -> {
+                    if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+                        return employee;
+                    }
+                    return new Employee(id,
+                            changes.getFirstName() != null ? changes.getFirstName() : employee.getFirstName(),
+                            changes.getLastName() != null ? changes.getLastName() : employee.getLastName(),
+                            changes.getEmail() != null ? changes.getEmail() : employee.getEmail(),
+                            employee.getVersion() == null ? 1L : employee.getVersion() + 1);
+                }))
+                .filter(employee -> expectedVersion == null || employee.getVersion() == expectedVersion + 1)
+                .map(InMemoryEmployeeRepository::copyOf);
+    }
+
+    private static EmployeeDto toDto(Employee employee) {
+        return new EmployeeDto(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getVersion());
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getVersion());
+    }
+}
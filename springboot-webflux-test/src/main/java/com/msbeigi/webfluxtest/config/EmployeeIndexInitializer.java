@@ -0,0 +1,81 @@
+package com.msbeigi.webfluxtest.config;
+
+import com.msbeigi.webfluxtest.entity.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Creates the indexes declared on {@link Employee} once the application is ready and then reports any that
+ * are still missing, e.g. a unique index that could not be built because of existing duplicates.
+ * Runs in the background so startup never blocks on MongoDB.
+ */
+@Component
+public class EmployeeIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIndexInitializer.class);
+
+    private final ReactiveMongoOperations mongoOperations;
+    private final MongoMappingContext mappingContext;
+
+    public EmployeeIndexInitializer(ReactiveMongoOperations mongoOperations, MongoMappingContext mappingContext) {
+        this.mongoOperations = mongoOperations;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        ensureAndFindMissingIndexes().subscribe(
+                missing -> {
+                    if (missing.isEmpty()) {
+                        log.info("All indexes on the employees collection are in place");
+                    } else {
+                        log.warn("Missing indexes on the employees collection, queries will scan the collection: {}", missing);
+                    }
+                },
+                error -> log.warn("Could not verify the indexes on the employees collection", error));
+    }
+
+    Mono<Set<String>> ensureAndFindMissingIndexes() {
+        ReactiveIndexOperations indexOperations = mongoOperations.indexOps(Employee.class);
+        List<IndexDefinition> definitions = StreamSupport
+                .stream(IndexResolver.create(mappingContext).resolveIndexFor(Employee.class).spliterator(), false)
+                .map(IndexDefinition.class::cast)
+                .toList();
+        Set<String> expected = definitions.stream()
+                .map(definition -> definition.getIndexOptions().getString("name"))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        return Flux.fromIterable(definitions)
+                .concatMap(definition -> indexOperations.ensureIndex(definition)
+                        .onErrorResume(e -> {
+                            log.warn("Could not create index {} on the employees collection",
+                                    definition.getIndexOptions().getString("name"), e);
+                            return Mono.empty();
+                        }))
+                .thenMany(indexOperations.getIndexInfo())
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet())
+                .map(existing -> {
+                    Set<String> missing = new TreeSet<>(expected);
+                    missing.removeAll(existing);
+                    return missing;
+                });
+    }
+}
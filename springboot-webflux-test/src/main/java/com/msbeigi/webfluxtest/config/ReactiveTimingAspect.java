@@ -0,0 +1,75 @@
+package com.msbeigi.webfluxtest.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-method timers for the repository and the service. {@code @Timed} would only measure how long it takes to
+ * assemble the returned {@link Mono}/{@link Flux}, so the sample here starts on subscription and stops when the
+ * publisher completes, fails or is cancelled.
+ */
+@Aspect
+@Component
+public class ReactiveTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("target(com.msbeigi.webfluxtest.repository.EmployeeRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed("employee.repository", joinPoint);
+    }
+
+    @Around("target(com.msbeigi.webfluxtest.service.EmployeeService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed("employee.service", joinPoint);
+    }
+
+    private Object timed(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        String method = joinPoint.getSignature().getName();
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return mono.doOnError(error::set)
+                        .doFinally(signal -> sample.stop(timer(name, method, signal, error.get())));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return flux.doOnError(error::set)
+                        .doFinally(signal -> sample.stop(timer(name, method, signal, error.get())));
+            });
+        }
+        return result;
+    }
+
+    private Timer timer(String name, String method, SignalType signal, Throwable error) {
+        return Timer.builder(name)
+                .tag("method", method)
+                .tag("outcome", switch (signal) {
+                    case ON_ERROR -> "error";
+                    case CANCEL -> "cancelled";
+                    default -> "success";
+                })
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                // buckets for histogram_quantile() in Prometheus
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
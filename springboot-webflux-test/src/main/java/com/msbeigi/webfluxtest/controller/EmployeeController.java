@@ -1,19 +1,56 @@
 package com.msbeigi.webfluxtest.controller;
 
+import com.msbeigi.webfluxtest.dto.BulkUpsertResult;
+import com.msbeigi.webfluxtest.dto.EmployeeChangeEvent;
 import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.dto.EmployeePage;
 import com.msbeigi.webfluxtest.service.EmployeeService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    private static final Pattern RESUME_TOKEN = Pattern.compile("[0-9A-Fa-f]+");
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "firstName", "lastName", "email", "version");
+
     private final EmployeeService employeeService;
+    private final int streamBatchSize;
+    private final int bulkBatchSize;
+    private final int bulkConcurrency;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService,
+                              @Value("${employee.stream.batch-size:500}") int streamBatchSize,
+                              @Value("${employee.bulk.batch-size:1000}") int bulkBatchSize,
+                              @Value("${employee.bulk.concurrency:4}") int bulkConcurrency,
+                              @Value("${employee.pagination.default-size:50}") int defaultPageSize,
+                              @Value("${employee.pagination.max-size:1000}") int maxPageSize) {
         this.employeeService = employeeService;
+        this.streamBatchSize = streamBatchSize;
+        this.bulkBatchSize = bulkBatchSize;
+        this.bulkConcurrency = bulkConcurrency;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @PostMapping
@@ -22,25 +59,197 @@ public class EmployeeController {
         return employeeService.saveEmployee(employeeDto);
     }
 
+    // reads the NDJSON body as it arrives and answers with one summary line per bulkWrite window
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkUpsertResult> upsertEmployees(@RequestBody Flux<EmployeeDto> employeeDtos) {
+        return employeeService.upsertEmployees(employeeDtos, bulkBatchSize, bulkConcurrency);
+    }
+
+    // the ETag lets WebFlux answer a matching If-None-Match with 304 without writing the body
     @GetMapping("/{id}")
-    public Mono<EmployeeDto> getEmployee(@PathVariable("id") String employeeId) {
-        return employeeService.getEmployee(employeeId);
+    public Mono<ResponseEntity<EmployeeDto>> getEmployee(@PathVariable("id") String employeeId) {
+        return employeeService.getEmployee(employeeId)
+                .map(employeeDto -> ResponseEntity.ok().eTag(eTag(employeeDto)).body(employeeDto));
     }
 
+    // fields=firstName,lastName limits what is read from Mongo and written to the response, the id is always included
     @GetMapping
-    public Flux<EmployeeDto> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<Flux<EmployeeDto>> getAllEmployees(@RequestParam(value = "fields", required = false) Set<String> fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(employeeService.getAllEmployees());
+        }
+        if (!SELECTABLE_FIELDS.containsAll(fields)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getAllEmployees(fields));
+    }
+
+    // batch lookup for callers that would otherwise issue one GET per id, resolved with a single $in query;
+    // unknown ids are left out and at most employee.pagination.max-size ids are accepted
+    @GetMapping(params = "ids")
+    public ResponseEntity<Flux<EmployeeDto>> getEmployees(@RequestParam("ids") List<String> employeeIds) {
+        return batchGet(employeeIds);
+    }
+
+    // same as GET ?ids=, for id lists too long for a query string
+    @PostMapping("/batch-get")
+    public Mono<ResponseEntity<Flux<EmployeeDto>>> batchGetEmployees(@RequestBody Mono<List<String>> employeeIds) {
+        return employeeIds.map(this::batchGet);
+    }
+
+    // keyset pagination: every page is an index seek past the last id, however deep the client has crawled
+    @GetMapping("/page")
+    public Mono<ResponseEntity<EmployeePage>> getEmployeesPage(@RequestParam(value = "token", required = false) String token,
+                                                               @RequestParam(value = "limit", required = false) Integer limit) {
+        String afterId = decodePageToken(token);
+        if (token != null && afterId == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // one extra document tells whether there is a next page without a count query
+        return employeeService.getEmployeesPage(afterId, pageSize + 1)
+                .collectList()
+                .map(employees -> {
+                    boolean hasNext = employees.size() > pageSize;
+                    List<EmployeeDto> content = hasNext ? employees.subList(0, pageSize) : employees;
+                    String nextToken = hasNext ? encodePageToken(content.get(content.size() - 1).getId()) : null;
+                    return ResponseEntity.ok(new EmployeePage(content, nextToken, hasNext));
+                });
+    }
+
+    // push feed of inserts, updates and deletes; SSE clients resume through Last-Event-ID when they reconnect,
+    // NDJSON clients pass the resumeToken of the last event they processed
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<EmployeeChangeEvent>> streamChangeEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                                         @RequestParam(value = "resumeToken", required = false) String resumeToken) {
+        return streamChanges(lastEventId != null ? lastEventId : resumeToken)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(change.getResumeToken())
+                        .event(change.getOperation())
+                        .build());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeChangeEvent> streamChanges(@RequestParam(value = "resumeToken", required = false) String resumeToken) {
+        if (resumeToken != null && !RESUME_TOKEN.matcher(resumeToken).matches()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid resume token"));
+        }
+        return employeeService.watchEmployeeChanges(resumeToken);
+    }
+
+    // selected by the Accept header, each document is written and flushed as soon as the cursor yields it
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<EmployeeDto> streamAllEmployees() {
+        return employeeService.streamAllEmployees(streamBatchSize);
+    }
+
+    // case-insensitive email lookup or exact (last name, first name) match, both served by an index
+    @GetMapping("/search")
+    public ResponseEntity<Flux<EmployeeDto>> searchEmployees(@RequestParam(value = "email", required = false) String email,
+                                                             @RequestParam(value = "lastName", required = false) String lastName,
+                                                             @RequestParam(value = "firstName", required = false) String firstName) {
+        if (email != null) {
+            return ResponseEntity.ok(employeeService.getEmployeeByEmail(email).flux());
+        }
+        if (lastName == null || firstName == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getEmployeesByName(lastName, firstName));
     }
 
     @PutMapping("/{id}")
-    public Mono<EmployeeDto> updateEmployee(@PathVariable("id") String employeeId,
-                                            @RequestBody EmployeeDto employeeDto) {
-        return employeeService.updateEmployee(employeeDto, employeeId);
+    public Mono<ResponseEntity<EmployeeDto>> updateEmployee(@PathVariable("id") String employeeId,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @RequestBody EmployeeDto employeeDto) {
+        if (ifMatch != null) {
+            employeeDto.setVersion(parseVersion(ifMatch));
+        }
+        // the service completes empty for a missing id; If-Match: * only holds when the employee exists
+        return employeeService.updateEmployee(employeeDto, employeeId)
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(eTag(updatedEmployee)).body(updatedEmployee))
+                .defaultIfEmpty(isWildcard(ifMatch)
+                        ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                        : ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    @ResponseStatus(value = HttpStatus.NO_CONTENT)
-    public Mono<Void> deleteEmployee(@PathVariable("id") String employeeId) {
-        return employeeService.deleteEmployee(employeeId);
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable("id") String employeeId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (isWildcard(ifMatch)) {
+            return employeeService.deleteExistingEmployee(employeeId)
+                    .map(deleted -> deleted
+                            ? ResponseEntity.noContent().build()
+                            : ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+        }
+        Long expectedVersion = parseVersion(ifMatch);
+        if (expectedVersion == null) {
+            return employeeService.deleteEmployee(employeeId)
+                    .then(Mono.just(ResponseEntity.noContent().build()));
+        }
+        return employeeService.deleteEmployee(employeeId, expectedVersion)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().build()
+                        : ResponseEntity.notFound().build());
+    }
+
+    // raised by the unique email index
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Void> handleDuplicateEmail(DuplicateKeyException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleVersionConflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    private ResponseEntity<Flux<EmployeeDto>> batchGet(List<String> employeeIds) {
+        List<String> ids = employeeIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getEmployees(ids));
+    }
+
+    private static String encodePageToken(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null for a missing or tampered token
+    private static String decodePageToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String lastId = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return ObjectId.isValid(lastId) ? lastId : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String eTag(EmployeeDto employeeDto) {
+        return employeeDto.getVersion() == null ? null : "\"" + employeeDto.getVersion() + "\"";
+    }
+
+    private static boolean isWildcard(String ifMatch) {
+        return ifMatch != null && ifMatch.trim().equals("*");
+    }
+
+    // null means no version check (no header or *); If-Match uses strong comparison, so weak and unparsable tags
+    // can never match and map to an impossible version
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || isWildcard(ifMatch)) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
     }
 }
@@ -0,0 +1,20 @@
+package com.msbeigi.webfluxtest.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpsertResult {
+
+    // zero based position of the window in the request stream
+    private long batch;
+    private int received;
+    private int inserted;
+    private int matched;
+    private int modified;
+    // documents without an id or email plus write errors reported by MongoDB
+    private int failed;
+}
@@ -0,0 +1,24 @@
+package com.msbeigi.webfluxtest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeChangeEvent {
+
+    // insert, update, replace or delete
+    private String operation;
+    private String employeeId;
+    // the document after the change, absent for deletes
+    private EmployeeDto employee;
+    private Instant timestamp;
+    // pass back as resumeToken (or Last-Event-ID for SSE) to continue right after this event
+    private String resumeToken;
+}
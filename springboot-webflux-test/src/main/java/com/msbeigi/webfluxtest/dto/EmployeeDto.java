@@ -1,16 +1,22 @@
 package com.msbeigi.webfluxtest.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
+import org.springframework.data.annotation.PersistenceCreator;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
+// used when a repository projects straight into the DTO, fields left out of the projection are passed as null
+@AllArgsConstructor(onConstructor_ = @PersistenceCreator)
 @Builder
+// fields left out by a projection are omitted instead of written as null
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class EmployeeDto {
 
     private String id;
     private String firstName;
     private String lastName;
     private String email;
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package com.msbeigi.webfluxtest.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeePage {
+
+    private List<EmployeeDto> content;
+    // opaque continuation token, pass it back as "token" to get the next page
+    private String nextToken;
+    private boolean hasNext;
+}
@@ -2,18 +2,32 @@ package com.msbeigi.webfluxtest.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
+// Spring Data reads documents through its bytecode-generated instantiator and this constructor: one call per
+// document instead of the no-args constructor followed by a property accessor call per field
+@AllArgsConstructor(onConstructor_ = @PersistenceCreator)
 @Builder
 @Document(collection = "employees")
+@CompoundIndex(name = "ix_employees_last_first", def = "{ 'lastName': 1, 'firstName': 1 }")
 public class Employee {
+    // case-insensitive comparison, queries on email must use the same collation to hit the index
+    public static final String EMAIL_COLLATION = "{ 'locale': 'en', 'strength': 2 }";
+
     @Id
     private String id;
     private String firstName;
     private String lastName;
+    @Indexed(name = "uk_employees_email", unique = true, collation = EMAIL_COLLATION)
     private String email;
+    // optimistic locking, exposed as the ETag of GET /api/employees/{id}
+    @Version
+    private Long version;
 }
@@ -2,19 +2,19 @@ package com.msbeigi.webfluxtest.mapper;
 
 import com.msbeigi.webfluxtest.dto.EmployeeDto;
 import com.msbeigi.webfluxtest.entity.Employee;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
 
 import java.util.function.Function;
 
-@Component
-public class EmployeeDtoMapper implements Function<EmployeeDto, Employee> {
+// EmployeeDtoMapperImpl is generated at compile time, see EmployeeMapper
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.ERROR,
+        builder = @Builder(disableBuilder = true))
+public interface EmployeeDtoMapper extends Function<EmployeeDto, Employee> {
+
     @Override
-    public Employee apply(EmployeeDto employeeDto) {
-        return new Employee(
-                employeeDto.getId(),
-                employeeDto.getFirstName(),
-                employeeDto.getLastName(),
-                employeeDto.getEmail()
-        );
-    }
+    Employee apply(EmployeeDto employeeDto);
 }
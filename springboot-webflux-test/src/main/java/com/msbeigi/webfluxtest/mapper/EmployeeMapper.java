@@ -2,36 +2,21 @@ package com.msbeigi.webfluxtest.mapper;
 
 import com.msbeigi.webfluxtest.dto.EmployeeDto;
 import com.msbeigi.webfluxtest.entity.Employee;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
 
 import java.util.function.Function;
 
-@Component
-public class EmployeeMapper implements Function<Employee, EmployeeDto> {
-    /*public static EmployeeDto mapToEmployeeDto(Employee employee) {
-        return new EmployeeDto(
-                employee.getId(),
-                employee.getFirstName(),
-                employee.getLastName(),
-                employee.getEmail()
-        );
-    }
-
-    public static Employee mapToEmployee(EmployeeDto employeeDto) {
-        return new Employee(
-                employeeDto.getId(),
-                employeeDto.getFirstName(),
-                employeeDto.getLastName(),
-                employeeDto.getEmail());
-    }*/
+// EmployeeMapperImpl is generated at compile time: plain getter/setter calls, no reflection. A field added to
+// EmployeeDto without a counterpart on Employee fails the build instead of silently staying null
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.ERROR,
+        // new EmployeeDto() plus setters, one allocation per element instead of a builder and the dto
+        builder = @Builder(disableBuilder = true))
+public interface EmployeeMapper extends Function<Employee, EmployeeDto> {
 
     @Override
-    public EmployeeDto apply(Employee employee) {
-        return new EmployeeDto(
-                employee.getId(),
-                employee.getFirstName(),
-                employee.getLastName(),
-                employee.getEmail());
-    }
-
+    EmployeeDto apply(Employee employee);
 }
@@ -1,8 +1,32 @@
 package com.msbeigi.webfluxtest.repository;
 
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
 import com.msbeigi.webfluxtest.entity.Employee;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-public interface EmployeeRepository extends ReactiveCrudRepository<Employee, String> {
+import java.util.Collection;
 
+public interface EmployeeRepository extends ReactiveCrudRepository<Employee, String>, EmployeeRepositoryCustom {
+
+    // DTO projection, the query only selects the DTO properties and skips the Employee instance
+    Mono<EmployeeDto> findDtoById(String id);
+
+    // same projection for a list of ids, one $in query on _id
+    Flux<EmployeeDto> findDtoByIdIn(Collection<String> ids);
+
+    // backed by uk_employees_email, unique so at most one match
+    @Query(value = "{ 'email': ?0 }", collation = Employee.EMAIL_COLLATION)
+    Mono<Employee> findByEmailIgnoreCase(String email);
+
+    // backed by ix_employees_last_first; names are not unique
+    Flux<Employee> findByLastNameAndFirstName(String lastName, String firstName);
+
+    // unlike deleteById, emits the number of removed documents
+    Mono<Long> removeById(String id);
+
+    // conditional delete, emits the number of removed documents
+    Mono<Long> deleteByIdAndVersion(String id, Long version);
 }
@@ -0,0 +1,34 @@
+package com.msbeigi.webfluxtest.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.entity.Employee;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+
+    // reads straight into the DTO, Mongo only returns the given fields (all DTO properties when empty)
+    Flux<EmployeeDto> findAllProjected(Collection<String> fields);
+
+    // keyset page ordered by _id, seeks past afterId on the primary key index instead of skipping
+    Flux<EmployeeDto> findPageAfter(String afterId, int limit);
+
+    // emits documents as the cursor yields them, fetching batchSize documents per getMore
+    Flux<Employee> streamAll(int batchSize);
+
+    // one unordered bulkWrite, matching on id when present and on email otherwise
+    Mono<BulkWriteResult> bulkUpsert(List<Employee> employees);
+
+    // single findAndModify that $sets the non-null fields of changes and returns the new document;
+    // empty when the id is missing or, with an expectedVersion, when the version has moved on
+    Mono<Employee> findAndUpdate(String id, Long expectedVersion, Employee changes);
+
+    // tails the change stream of the collection, needs a replica set; resumes after the token when one is given
+    Flux<ChangeStreamEvent<Employee>> watchChanges(BsonValue resumeToken);
+}
@@ -0,0 +1,115 @@
+package com.msbeigi.webfluxtest.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.entity.Employee;
+import org.bson.BsonValue;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    public EmployeeRepositoryCustomImpl(ReactiveMongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public Flux<EmployeeDto> findAllProjected(Collection<String> fields) {
+        Query query = new Query();
+        fields.forEach(query.fields()::include);
+        return mongoOperations.query(Employee.class)
+                .as(EmployeeDto.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public Flux<EmployeeDto> findPageAfter(String afterId, int limit) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        if (afterId != null) {
+            // the id is mapped to an ObjectId, so documents stored with non-ObjectId ids are not paged
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        return mongoOperations.query(Employee.class)
+                .as(EmployeeDto.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public Flux<Employee> streamAll(int batchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize);
+        return mongoOperations.find(query, Employee.class);
+    }
+
+    @Override
+    public Mono<BulkWriteResult> bulkUpsert(List<Employee> employees) {
+        ReactiveBulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+        for (Employee employee : employees) {
+            Query key = employee.getId() != null
+                    ? Query.query(Criteria.where("id").is(employee.getId()))
+                    : Query.query(Criteria.where("email").is(employee.getEmail()))
+                    .collation(Collation.parse(Employee.EMAIL_COLLATION));
+            Update update = new Update()
+                    .set("firstName", employee.getFirstName())
+                    .set("lastName", employee.getLastName())
+                    .set("email", employee.getEmail())
+                    // keeps ETags and If-Match checks working for documents touched by the sync
+                    .inc("version", 1);
+            bulkOperations.upsert(key, update);
+        }
+        return bulkOperations.execute();
+    }
+
+    @Override
+    public Mono<Employee> findAndUpdate(String id, Long expectedVersion, Employee changes) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        Update update = new Update().inc("version", 1);
+        if (changes.getFirstName() != null) {
+            update.set("firstName", changes.getFirstName());
+        }
+        if (changes.getLastName() != null) {
+            update.set("lastName", changes.getLastName());
+        }
+        if (changes.getEmail() != null) {
+            update.set("email", changes.getEmail());
+        }
+        return mongoOperations.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Employee.class);
+    }
+
+    @Override
+    public Flux<ChangeStreamEvent<Employee>> watchChanges(BsonValue resumeToken) {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                // updates only carry the changed fields unless the current document is looked up
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            options.resumeAfter(resumeToken);
+        }
+        return mongoOperations.changeStream(mongoOperations.getCollectionName(Employee.class), options.build(), Employee.class);
+    }
+}
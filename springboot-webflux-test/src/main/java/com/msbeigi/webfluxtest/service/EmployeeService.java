@@ -1,17 +1,41 @@
 package com.msbeigi.webfluxtest.service;
 
+import com.msbeigi.webfluxtest.dto.BulkUpsertResult;
+import com.msbeigi.webfluxtest.dto.EmployeeChangeEvent;
 import com.msbeigi.webfluxtest.dto.EmployeeDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface EmployeeService {
     Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto);
 
+    Flux<BulkUpsertResult> upsertEmployees(Flux<EmployeeDto> employeeDtos, int batchSize, int concurrency);
+
     Mono<EmployeeDto> getEmployee(String employeeId);
 
+    Flux<EmployeeDto> getEmployees(Collection<String> employeeIds);
+
+    Mono<EmployeeDto> getEmployeeByEmail(String email);
+
+    Flux<EmployeeDto> getEmployeesByName(String lastName, String firstName);
+
     Flux<EmployeeDto> getAllEmployees();
 
+    Flux<EmployeeDto> getAllEmployees(Collection<String> fields);
+
+    Flux<EmployeeDto> getEmployeesPage(String afterId, int limit);
+
+    Flux<EmployeeDto> streamAllEmployees(int batchSize);
+
+    Flux<EmployeeChangeEvent> watchEmployeeChanges(String resumeToken);
+
     Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId);
 
     Mono<Void> deleteEmployee(String employeeId);
+
+    Mono<Boolean> deleteExistingEmployee(String employeeId);
+
+    Mono<Boolean> deleteEmployee(String employeeId, Long version);
 }
@@ -0,0 +1,92 @@
+package com.msbeigi.webfluxtest.service.impl;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Merges single-key loads into batches: the first subscription of a batch starts the window, the keys asked for
+ * until it closes are resolved with one call of the batch function. A batch that reaches the maximum size is
+ * dispatched straight away. Values are matched back to their key with the key extractor, keys missing from the
+ * result complete empty. Nothing blocks, the window runs on the parallel scheduler.
+ */
+final class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Flux<V>> batchFunction;
+    private final Function<V, K> keyExtractor;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private Map<K, Sinks.One<V>> pending;
+
+    BatchLoader(Function<Collection<K>, Flux<V>> batchFunction, Function<V, K> keyExtractor,
+                Duration window, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.keyExtractor = keyExtractor;
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    Mono<V> load(K key) {
+        return Mono.defer(() -> enqueue(key).asMono());
+    }
+
+    private Sinks.One<V> enqueue(K key) {
+        Map<K, Sinks.One<V>> batch;
+        boolean leader = false;
+        boolean full = false;
+        Sinks.One<V> call;
+        synchronized (this) {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+                leader = true;
+            }
+            batch = pending;
+            call = batch.computeIfAbsent(key, k -> Sinks.one());
+            if (batch.size() >= maxBatchSize) {
+                pending = null;
+                full = true;
+            }
+        }
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            Mono.delay(window).subscribe(tick -> {
+                if (close(batch)) {
+                    dispatch(batch);
+                }
+            });
+        }
+        return call;
+    }
+
+    // false when the batch filled up and was dispatched before the window closed
+    private synchronized boolean close(Map<K, Sinks.One<V>> batch) {
+        if (pending != batch) {
+            return false;
+        }
+        pending = null;
+        return true;
+    }
+
+    // the query runs even if every caller of the batch has cancelled meanwhile, it is one round-trip at most
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        batchFunction.apply(batch.keySet())
+                .collectMap(keyExtractor)
+                .subscribe(values -> batch.forEach((key, call) -> {
+                            V value = values.get(key);
+                            if (value == null) {
+                                call.tryEmitEmpty();
+                            } else {
+                                call.tryEmitValue(value);
+                            }
+                        }),
+                        error -> batch.values().forEach(call -> call.tryEmitError(error)));
+    }
+}
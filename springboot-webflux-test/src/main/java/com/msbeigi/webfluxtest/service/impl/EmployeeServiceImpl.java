@@ -1,62 +1,212 @@
 package com.msbeigi.webfluxtest.service.impl;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.msbeigi.webfluxtest.dto.BulkUpsertResult;
+import com.msbeigi.webfluxtest.dto.EmployeeChangeEvent;
 import com.msbeigi.webfluxtest.dto.EmployeeDto;
 import com.msbeigi.webfluxtest.entity.Employee;
 import com.msbeigi.webfluxtest.mapper.EmployeeDtoMapper;
 import com.msbeigi.webfluxtest.mapper.EmployeeMapper;
 import com.msbeigi.webfluxtest.repository.EmployeeRepository;
 import com.msbeigi.webfluxtest.service.EmployeeService;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // change stream resume tokens are {_data: "<hex>"}, clients only see the hex string
+    private static final String RESUME_TOKEN_DATA = "_data";
+
     private final EmployeeRepository employeeRepository;
     private final EmployeeDtoMapper employeeDtoMapper;
     private final EmployeeMapper employeeMapper;
+    private final ConcurrentMap<String, Mono<EmployeeDto>> inFlightLookups = new ConcurrentHashMap<>();
+    // null when employee.batch-lookup.window is zero
+    private final BatchLoader<String, EmployeeDto> employeeBatchLoader;
 
     public EmployeeServiceImpl(EmployeeRepository employeeRepository,
                                EmployeeDtoMapper employeeDtoMapper,
-                               EmployeeMapper employeeMapper) {
+                               EmployeeMapper employeeMapper,
+                               @Value("${employee.batch-lookup.window:0ms}") Duration batchLookupWindow,
+                               @Value("${employee.batch-lookup.max-size:100}") int batchLookupMaxSize) {
         this.employeeRepository = employeeRepository;
         this.employeeDtoMapper = employeeDtoMapper;
         this.employeeMapper = employeeMapper;
+        this.employeeBatchLoader = batchLookupWindow.isZero() || batchLookupWindow.isNegative()
+                ? null
+                : new BatchLoader<>(employeeRepository::findDtoByIdIn, EmployeeDto::getId,
+                batchLookupWindow, batchLookupMaxSize);
     }
 
     @Override
     public Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto) {
         Employee employee = employeeDtoMapper.apply(employeeDto);
+        // a new document always starts at the first version, whatever the client sent
+        employee.setVersion(null);
         Mono<Employee> savedEmployee = employeeRepository.save(employee);
         return savedEmployee.map(employeeMapper);
     }
 
+    @Override
+    public Flux<BulkUpsertResult> upsertEmployees(Flux<EmployeeDto> employeeDtos, int batchSize, int concurrency) {
+        // flatMapSequential keeps a few windows in flight but reports them in request order
+        return employeeDtos
+                .map(employeeDtoMapper)
+                .buffer(batchSize)
+                .index()
+                .flatMapSequential(window -> upsertBatch(window.getT1(), window.getT2()), concurrency);
+    }
+
+    // concurrent lookups of one id subscribe to the same in-flight query; it leaves the map as soon as it
+    // terminates, so this de-duplicates without caching. With a batch-lookup window, lookups of different ids
+    // are merged into one $in query
     @Override
     public Mono<EmployeeDto> getEmployee(String employeeId) {
-        Mono<Employee> savedEmployee = employeeRepository.findById(employeeId);
-        return savedEmployee.map(employeeMapper);
+        return Mono.defer(() -> inFlightLookups.computeIfAbsent(employeeId, this::sharedLookup));
+    }
+
+    // one $in query for the whole list, unknown ids are left out
+    @Override
+    public Flux<EmployeeDto> getEmployees(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return employeeRepository.findDtoByIdIn(employeeIds);
+    }
+
+    @Override
+    public Mono<EmployeeDto> getEmployeeByEmail(String email) {
+        return employeeRepository.findByEmailIgnoreCase(email).map(employeeMapper);
+    }
+
+    @Override
+    public Flux<EmployeeDto> getEmployeesByName(String lastName, String firstName) {
+        return employeeRepository.findByLastNameAndFirstName(lastName, firstName).map(employeeMapper);
     }
 
     @Override
     public Flux<EmployeeDto> getAllEmployees() {
-        return employeeRepository.findAll().map(employeeMapper).switchIfEmpty(Flux.empty());
+        return employeeRepository.findAllProjected(List.of());
     }
 
     @Override
-    public Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId) {
-        Mono<Employee> employeeMono = employeeRepository.findById(employeeId);
-        return employeeMono.flatMap(employee -> {
-            employee.setFirstName(employeeDto.getFirstName());
-            employee.setLastName(employeeDto.getLastName());
-            employee.setEmail(employeeDto.getEmail());
+    public Flux<EmployeeDto> getAllEmployees(Collection<String> fields) {
+        return employeeRepository.findAllProjected(fields);
+    }
+
+    @Override
+    public Flux<EmployeeDto> getEmployeesPage(String afterId, int limit) {
+        return employeeRepository.findPageAfter(afterId, limit);
+    }
+
+    @Override
+    public Flux<EmployeeDto> streamAllEmployees(int batchSize) {
+        // request from the cursor in the same batches it fetches, so a slow client never buffers more than one
+        return employeeRepository.streamAll(batchSize)
+                .limitRate(batchSize)
+                .map(employeeMapper);
+    }
+
+    @Override
+    public Flux<EmployeeChangeEvent> watchEmployeeChanges(String resumeToken) {
+        BsonValue token = resumeToken == null ? null : new BsonDocument(RESUME_TOKEN_DATA, new BsonString(resumeToken));
+        return employeeRepository.watchChanges(token).map(this::toChangeEvent);
+    }
 
-            return employeeRepository.save(employee);
-        }).map(employeeMapper);
+    @Override
+    public Mono<EmployeeDto> updateEmployee(EmployeeDto employeeDto, String employeeId) {
+        // one round-trip, the version check and the write happen atomically on the server
+        Long expectedVersion = employeeDto.getVersion();
+        return employeeRepository.findAndUpdate(employeeId, expectedVersion, employeeDtoMapper.apply(employeeDto))
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.empty()
+                        : employeeRepository.existsById(employeeId)
+                        .flatMap(exists -> exists ? Mono.error(versionConflict(employeeId)) : Mono.empty())))
+                .map(employeeMapper);
     }
 
     @Override
     public Mono<Void> deleteEmployee(String employeeId) {
         return employeeRepository.deleteById(employeeId).switchIfEmpty(Mono.empty());
     }
+
+    // emits whether there was a document to delete
+    @Override
+    public Mono<Boolean> deleteExistingEmployee(String employeeId) {
+        return employeeRepository.removeById(employeeId).map(deleted -> deleted > 0);
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(String employeeId, Long version) {
+        return employeeRepository.deleteByIdAndVersion(employeeId, version)
+                .flatMap(deleted -> deleted > 0
+                        ? Mono.just(true)
+                        : employeeRepository.existsById(employeeId)
+                        .flatMap(exists -> exists ? Mono.error(versionConflict(employeeId)) : Mono.just(false)));
+    }
+
+    private Mono<BulkUpsertResult> upsertBatch(long batch, List<Employee> employees) {
+        Map<Boolean, List<Employee>> byKey = employees.stream()
+                .collect(Collectors.partitioningBy(employee -> employee.getId() != null || employee.getEmail() != null));
+        List<Employee> upserts = byKey.get(true);
+        int skipped = byKey.get(false).size();
+        if (upserts.isEmpty()) {
+            return Mono.just(new BulkUpsertResult(batch, employees.size(), 0, 0, 0, skipped));
+        }
+        return employeeRepository.bulkUpsert(upserts)
+                .map(result -> toBulkUpsertResult(batch, employees.size(), result, skipped))
+                // unordered: the rest of the window is still written, only the failed documents are reported
+                .onErrorResume(BulkOperationException.class, e ->
+                        Mono.just(toBulkUpsertResult(batch, employees.size(), e.getResult(), skipped + e.getErrors().size())));
+    }
+
+    private static BulkUpsertResult toBulkUpsertResult(long batch, int received, BulkWriteResult result, int failed) {
+        return new BulkUpsertResult(batch, received, result.getUpserts().size(),
+                result.getMatchedCount(), result.getModifiedCount(), failed);
+    }
+
+    private Mono<EmployeeDto> sharedLookup(String employeeId) {
+        AtomicReference<Mono<EmployeeDto>> lookup = new AtomicReference<>();
+        Mono<EmployeeDto> query = employeeBatchLoader == null
+                ? employeeRepository.findDtoById(employeeId)
+                : employeeBatchLoader.load(employeeId);
+        lookup.set(query
+                .doFinally(signal -> inFlightLookups.remove(employeeId, lookup.get()))
+                .share());
+        return lookup.get();
+    }
+
+    private EmployeeChangeEvent toChangeEvent(ChangeStreamEvent<Employee> event) {
+        BsonValue documentId = event.getRaw() == null || event.getRaw().getDocumentKey() == null
+                ? null : event.getRaw().getDocumentKey().get("_id");
+        return new EmployeeChangeEvent(
+                event.getOperationType() == null ? null : event.getOperationType().getValue(),
+                documentId == null ? null : documentId.isObjectId()
+                        ? documentId.asObjectId().getValue().toHexString() : documentId.asString().getValue(),
+                event.getBody() == null ? null : employeeMapper.apply(event.getBody()),
+                event.getTimestamp(),
+                event.getResumeToken().asDocument().getString(RESUME_TOKEN_DATA).getValue());
+    }
+
+    private static OptimisticLockingFailureException versionConflict(String employeeId) {
+        return new OptimisticLockingFailureException("Employee " + employeeId + " was modified concurrently.");
+    }
 }
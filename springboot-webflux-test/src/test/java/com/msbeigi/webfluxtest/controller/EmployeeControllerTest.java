@@ -1,6 +1,9 @@
 package com.msbeigi.webfluxtest.controller;
 
+import com.msbeigi.webfluxtest.dto.BulkUpsertResult;
+import com.msbeigi.webfluxtest.dto.EmployeeChangeEvent;
 import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.dto.EmployeePage;
 import com.msbeigi.webfluxtest.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +12,10 @@ import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -17,6 +24,9 @@ import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -133,6 +143,55 @@ class EmployeeControllerTest {
                 .consumeWith(System.out::println);
     }
 
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesFromOneLookup() {
+        // given - precondition or setup
+        EmployeeDto employeeDtoFirst = EmployeeDto.builder().id("1").firstName("Mohsen").lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com").build();
+        EmployeeDto employeeDtoSecond = EmployeeDto.builder().id("2").firstName("Ali").lastName("Sadeghi")
+                .email("ali@gmail.com").build();
+
+        given(employeeService.getEmployees(List.of("1", "2", "3")))
+                .willReturn(Flux.just(employeeDtoFirst, employeeDtoSecond));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .post()
+                .uri("/api/employees/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("1", "2", "3", "2"))
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].email").isEqualTo(employeeDtoSecond.getEmail());
+        verify(employeeService, times(1)).getEmployees(List.of("1", "2", "3"));
+    }
+
+    @Test
+    public void givenTooManyEmployeeIds_whenGetEmployeesByIds_thenReturnBadRequest() {
+        // given - precondition or setup
+        String employeeIds = IntStream.rangeClosed(1, 1001)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/employees").queryParam("ids", employeeIds).build())
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isBadRequest();
+        verify(employeeService, never()).getEmployees(anyCollection());
+    }
+
     @Test
     public void givenEmployeeDto_whenUpdateEmployeeById_thenReturnUpdatedEmployeeObject() {
         // given - precondition or setup
@@ -188,13 +247,608 @@ class EmployeeControllerTest {
                 .expectBody()
                 .consumeWith(System.out::println);
     }
-}
 
+    @Test
+    public void givenVersionedEmployee_whenGetEmployeeById_thenReturnETag() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .id("123")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .version(3L)
+                .build();
+
+        given(employeeService.getEmployee("123")).willReturn(Mono.just(employeeDto));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(3);
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployeeById_thenNotModified() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .id("123")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .version(3L)
+                .build();
+
+        given(employeeService.getEmployee("123")).willReturn(Mono.just(employeeDto));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isNotModified()
+                .expectBody()
+                .isEmpty();
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployeeById_thenPreconditionFailed() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(argThat(dto -> Long.valueOf(2L).equals(dto.getVersion())), eq("123")))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Employee 123 was modified concurrently.")));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .put()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void givenIfMatchForMissingEmployee_whenDeleteEmployeeById_thenNotFound() {
+        // given - precondition or setup
+        given(employeeService.deleteEmployee("123", 2L)).willReturn(Mono.just(false));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .delete()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenDeleteEmployeeById_thenPreconditionFailed() {
+        // given - precondition or setup
+        given(employeeService.deleteEmployee("123", 2L))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Employee 123 was modified concurrently.")));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .delete()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void givenWeakIfMatch_whenUpdateEmployeeById_thenPreconditionFailed() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(argThat(dto -> Long.valueOf(-1L).equals(dto.getVersion())), eq("123")))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Employee 123 was modified concurrently.")));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .put()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void givenWildcardIfMatchForMissingEmployee_whenDeleteEmployeeById_thenPreconditionFailed() {
+        // given - precondition or setup
+        given(employeeService.deleteExistingEmployee("123")).willReturn(Mono.just(false));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .delete()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "*")
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void givenWildcardIfMatchForMissingEmployee_whenUpdateEmployeeById_thenPreconditionFailed() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(any(EmployeeDto.class), eq("123"))).willReturn(Mono.empty());
 
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .put()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
 
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
 
+    @Test
+    public void givenMissingEmployee_whenUpdateEmployeeById_thenNotFound() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
 
+        given(employeeService.updateEmployee(any(EmployeeDto.class), eq("123"))).willReturn(Mono.empty());
 
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .put()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
 
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    public void givenIfMatchForMissingEmployee_whenUpdateEmployeeById_thenNotFound() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
 
+        given(employeeService.updateEmployee(argThat(dto -> Long.valueOf(2L).equals(dto.getVersion())), eq("123")))
+                .willReturn(Mono.empty());
 
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .put()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", "123"))
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployeesAsNdjson_thenReturnOneDocumentPerLine() {
+        // given - precondition or setup
+        EmployeeDto employeeDtoFirst = EmployeeDto
+                .builder()
+                .id("1")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+        EmployeeDto employeeDtoSecond = EmployeeDto
+                .builder()
+                .id("2")
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.streamAllEmployees(500)).willReturn(Flux.just(employeeDtoFirst, employeeDtoSecond));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then - verify the output
+        List<EmployeeDto> employeeDtos = responseSpec
+                .expectStatus()
+                .isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(2, employeeDtos.size());
+        assertEquals("ali@gmail.com", employeeDtos.get(1).getEmail());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployeesAsServerSentEvents_thenReturnOneEventPerDocument() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .id("1")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+
+        given(employeeService.streamAllEmployees(500)).willReturn(Flux.just(employeeDto));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange();
+
+        // then - verify the output
+        String body = responseSpec
+                .expectStatus()
+                .isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertTrue(body.startsWith("data:{"));
+        assertTrue(body.contains("\"email\":\"mohsen.sadegh62@gmail.com\""));
+    }
+
+    @Test
+    public void givenNdjsonEmployees_whenUpsertEmployees_thenReturnOneSummaryPerBatch() {
+        // given - precondition or setup
+        String body = """
+                {"firstName":"Mohsen","lastName":"Sadeghbeigi","email":"mohsen.sadegh62@gmail.com"}
+                {"id":"2","firstName":"Ali","lastName":"Ahmadi","email":"ali@gmail.com"}
+                """;
+
+        given(employeeService.upsertEmployees(any(), eq(1000), eq(4)))
+                .willAnswer(invocation -> {
+                    Flux<EmployeeDto> employeeDtos = invocation.getArgument(0);
+                    return employeeDtos.count()
+                            .map(count -> new BulkUpsertResult(0, count.intValue(), 1, 1, 1, 0))
+                            .flux();
+                });
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .post()
+                .uri("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange();
+
+        // then - verify the output
+        List<BulkUpsertResult> results = responseSpec
+                .expectStatus()
+                .isOk()
+                .returnResult(BulkUpsertResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(1, results.size());
+        assertEquals(2, results.get(0).getReceived());
+        assertEquals(1, results.get(0).getInserted());
+        assertEquals(1, results.get(0).getMatched());
+    }
+
+    @Test
+    public void givenEmail_whenSearchEmployees_thenReturnMatchingEmployee() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .id("123")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+
+        given(employeeService.getEmployeeByEmail("MOHSEN.SADEGH62@gmail.com")).willReturn(Mono.just(employeeDto));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/employees/search")
+                        .queryParam("email", "MOHSEN.SADEGH62@gmail.com")
+                        .build())
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("123")
+                .jsonPath("$[0].email").isEqualTo("mohsen.sadegh62@gmail.com");
+    }
+
+    @Test
+    public void givenLastNameOnly_whenSearchEmployees_thenReturnBadRequest() {
+        // given - precondition or setup
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/employees/search")
+                        .queryParam("lastName", "Sadeghbeigi")
+                        .build())
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isBadRequest();
+        verify(employeeService, never()).getEmployeesByName(any(), any());
+    }
+
+    @Test
+    public void givenTakenEmail_whenSaveEmployee_thenReturnConflict() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+
+        given(employeeService.saveEmployee(any(EmployeeDto.class)))
+                .willReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error uk_employees_email")));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .post()
+                .uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    public void givenFields_whenGetAllEmployees_thenReturnOnlySelectedFields() {
+        // given - precondition or setup
+        EmployeeDto employeeDto = EmployeeDto
+                .builder()
+                .id("1")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .build();
+
+        given(employeeService.getAllEmployees(Set.of("firstName", "lastName"))).willReturn(Flux.just(employeeDto));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees?fields=firstName,lastName")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("1")
+                .jsonPath("$[0].firstName").isEqualTo("Mohsen")
+                .jsonPath("$[0].email").doesNotExist()
+                .jsonPath("$[0].version").doesNotExist();
+    }
+
+    @Test
+    public void givenUnknownField_whenGetAllEmployees_thenReturnBadRequest() {
+        // given - precondition or setup
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees?fields=firstName,salary")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isBadRequest();
+        verify(employeeService, never()).getAllEmployees(any());
+    }
+
+    @Test
+    public void givenMoreEmployeesThanLimit_whenGetEmployeesPage_thenReturnPageWithNextToken() {
+        // given - precondition or setup
+        EmployeeDto employeeDtoFirst = EmployeeDto
+                .builder()
+                .id("6571c5a2e4b0a1b2c3d4e5f1")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+        EmployeeDto employeeDtoSecond = EmployeeDto
+                .builder()
+                .id("6571c5a2e4b0a1b2c3d4e5f2")
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.getEmployeesPage(null, 2)).willReturn(Flux.just(employeeDtoFirst, employeeDtoSecond));
+        given(employeeService.getEmployeesPage("6571c5a2e4b0a1b2c3d4e5f1", 2)).willReturn(Flux.just(employeeDtoSecond));
+
+        // when - action and the behaviour that we are going to test
+        EmployeePage firstPage = webTestClient
+                .get()
+                .uri("/api/employees/page?limit=1")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(EmployeePage.class)
+                .returnResult()
+                .getResponseBody();
+
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees/page?limit=1&token={token}", firstPage.getNextToken())
+                .exchange();
+
+        // then - verify the output
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals("6571c5a2e4b0a1b2c3d4e5f1", firstPage.getContent().get(0).getId());
+        assertTrue(firstPage.isHasNext());
+        responseSpec
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo("6571c5a2e4b0a1b2c3d4e5f2")
+                .jsonPath("$.hasNext").isEqualTo(false)
+                .jsonPath("$.nextToken").doesNotExist();
+    }
+
+    @Test
+    public void givenTamperedToken_whenGetEmployeesPage_thenReturnBadRequest() {
+        // given - precondition or setup
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees/page?token=not-a-token")
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isBadRequest();
+        verify(employeeService, never()).getEmployeesPage(any(), anyInt());
+    }
+
+    @Test
+    public void givenLastEventId_whenStreamChangeEvents_thenResumeAndTagEventsWithResumeToken() {
+        // given - precondition or setup
+        EmployeeChangeEvent changeEvent = EmployeeChangeEvent
+                .builder()
+                .operation("delete")
+                .employeeId("6571c5a2e4b0a1b2c3d4e5f1")
+                .resumeToken("8265A1B2C3000000012B")
+                .build();
+
+        given(employeeService.watchEmployeeChanges("8265A1B2C3000000012A")).willReturn(Flux.just(changeEvent));
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "8265A1B2C3000000012A")
+                .exchange();
+
+        // then - verify the output
+        String body = responseSpec
+                .expectStatus()
+                .isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertTrue(body.contains("id:8265A1B2C3000000012B"));
+        assertTrue(body.contains("event:delete"));
+        assertTrue(body.contains("\"employeeId\":\"6571c5a2e4b0a1b2c3d4e5f1\""));
+    }
+
+    @Test
+    public void givenMalformedResumeToken_whenStreamChanges_thenReturnBadRequest() {
+        // given - precondition or setup
+
+        // when - action and the behaviour that we are going to test
+        WebTestClient.ResponseSpec responseSpec = webTestClient
+                .get()
+                .uri("/api/employees/changes?resumeToken=not-a-token")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then - verify the output
+        responseSpec
+                .expectStatus()
+                .isBadRequest();
+        verify(employeeService, never()).watchEmployeeChanges(any());
+    }
+}
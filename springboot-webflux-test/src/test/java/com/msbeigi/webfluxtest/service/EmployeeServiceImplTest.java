@@ -0,0 +1,106 @@
+package com.msbeigi.webfluxtest.service;
+
+import com.msbeigi.webfluxtest.dto.EmployeeDto;
+import com.msbeigi.webfluxtest.mapper.EmployeeDtoMapper;
+import com.msbeigi.webfluxtest.mapper.EmployeeMapper;
+import com.msbeigi.webfluxtest.repository.EmployeeRepository;
+import com.msbeigi.webfluxtest.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceImplTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeService employeeService;
+
+    private EmployeeDto employeeDto;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new EmployeeServiceImpl(employeeRepository, Mappers.getMapper(EmployeeDtoMapper.class),
+                Mappers.getMapper(EmployeeMapper.class), Duration.ZERO, 100);
+        employeeDto = EmployeeDto
+                .builder()
+                .id("1")
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen.sadegh62@gmail.com")
+                .build();
+    }
+
+    @Test
+    public void givenConcurrentLookupsOfSameId_whenGetEmployee_thenShareOneQuery() {
+        // given - precondition or setup
+        AtomicInteger queries = new AtomicInteger();
+        given(employeeRepository.findDtoById("1")).willReturn(Mono.just(employeeDto)
+                .delayElement(Duration.ofMillis(100))
+                .doOnSubscribe(subscription -> queries.incrementAndGet()));
+
+        // when - action and the behaviour that we are going to test
+        List<EmployeeDto> employees = Flux.range(0, 5)
+                .flatMap(i -> employeeService.getEmployee("1"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then - verify the output
+        assertEquals(5, employees.size());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    public void givenLookupsOfDifferentIdsWithinWindow_whenGetEmployee_thenQueryOnceWithIn() {
+        // given - precondition or setup
+        EmployeeService batchingEmployeeService = new EmployeeServiceImpl(employeeRepository,
+                Mappers.getMapper(EmployeeDtoMapper.class), Mappers.getMapper(EmployeeMapper.class),
+                Duration.ofMillis(50), 100);
+        EmployeeDto otherEmployeeDto = EmployeeDto.builder().id("2").firstName("Ali").build();
+        given(employeeRepository.findDtoByIdIn(anyCollection())).willReturn(Flux.just(employeeDto, otherEmployeeDto));
+
+        // when - action and the behaviour that we are going to test
+        List<EmployeeDto> employees = Flux.just("1", "2", "3")
+                .flatMap(batchingEmployeeService::getEmployee)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then - verify the output
+        assertEquals(2, employees.size());
+        verify(employeeRepository, times(1)).findDtoByIdIn(Set.of("1", "2", "3"));
+        verify(employeeRepository, never()).findDtoById(anyString());
+    }
+
+    @Test
+    public void givenCompletedLookup_whenGetEmployeeAgain_thenQueryAgain() {
+        // given - precondition or setup
+        given(employeeRepository.findDtoById("1")).willReturn(Mono.just(employeeDto));
+
+        // when - action and the behaviour that we are going to test
+        StepVerifier.create(employeeService.getEmployee("1")).expectNext(employeeDto).verifyComplete();
+        StepVerifier.create(employeeService.getEmployee("1")).expectNext(employeeDto).verifyComplete();
+
+        // then - verify the output
+        verify(employeeRepository, times(2)).findDtoById("1");
+    }
+}
@@ -0,0 +1,61 @@
+package com.msbeigi.sprintboot.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbeigi.sprintboot.dto.EmployeePage;
+import com.msbeigi.sprintboot.entity.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeJsonBenchmark {
+
+    // same defaults as the ObjectMapper Spring Boot hands to the MVC message converters
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Employee employee;
+    private String employeeJson;
+    private EmployeePage employeePage;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .version(3L)
+                .build();
+        employeeJson = objectMapper.writeValueAsString(employee);
+
+        List<Employee> content = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            content.add(new Employee(id, "Mohsen" + id, "Sadeghbeigi", "mohsen" + id + "@gmail.com", 0L));
+        }
+        employeePage = new EmployeePage(content, 50L, true);
+    }
+
+    @Benchmark
+    public String serializeEmployee() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws JsonProcessingException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public String serializeEmployeePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(employeePage);
+    }
+}
@@ -0,0 +1,90 @@
+package com.msbeigi.sprintboot.benchmark;
+
+import com.msbeigi.sprintboot.SprintBootTestingApplication;
+import com.msbeigi.sprintboot.dto.EmployeePage;
+import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// boots the real service, repository and cache on an in-memory H2 database instead of PostgreSQL
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SprintBootTestingApplication.class)
+                .web(WebApplicationType.NONE)
+                // command line arguments so they take precedence over application.yaml
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=warn",
+                        "--spring.datasource.url=jdbc:h2:mem:employee_bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false");
+        employeeService = context.getBean(EmployeeService.class);
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEE_COUNT);
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employees.add(Employee.builder()
+                    .firstName("Mohsen" + i)
+                    .lastName("Sadeghbeigi")
+                    .email("mohsen" + i + "@gmail.com")
+                    .build());
+        }
+        employeeService.saveEmployees(employees);
+        employee = employeeService.getEmployeesPage(null, 1).getContent().get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(employee.getId());
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeesPage() {
+        return employeeService.getEmployeesPage(null, 50);
+    }
+
+    @Benchmark
+    public Slice<Employee> searchEmployeesByName() {
+        return employeeService.searchEmployeesByName("sadegh", "mohsen1", true, PageRequest.of(0, 50));
+    }
+
+    @Benchmark
+    public Optional<Employee> updateEmployee() {
+        // unconditional update, no version so no optimistic check
+        return employeeService.updateEmployee(employee.getId(), Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build());
+    }
+}
@@ -0,0 +1,11 @@
+package com.msbeigi.sprintboot.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+}
@@ -0,0 +1,139 @@
+package com.msbeigi.sprintboot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to the replicas that are reachable and within the allowed lag, in the order of the
+ * {@link Policy}. When none is left, or every candidate fails to connect, the connection comes from the primary,
+ * so read-only transactions keep working through a replica outage.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum Policy {
+        ROUND_ROBIN,
+        // the most caught-up replica first, keeps reads fresh at the cost of an uneven load
+        LEAST_LAG
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Policy policy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaDataSource(DataSource primary, List<Replica> replicas, Policy policy) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.policy = policy;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (Replica replica : candidates()) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                // out of rotation until the lag monitor can reach it again
+                log.warn("Could not connect to replica {}, trying the next one", replica.getName(), e);
+                replica.markUnavailable();
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        for (Replica replica : candidates()) {
+            try {
+                return replica.getDataSource().getConnection(username, password);
+            } catch (SQLException e) {
+                log.warn("Could not connect to replica {}, trying the next one", replica.getName(), e);
+                replica.markUnavailable();
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    List<Replica> candidates() {
+        List<Replica> available = replicas.stream().filter(Replica::isAvailable).toList();
+        if (available.size() <= 1) {
+            return available;
+        }
+        return switch (policy) {
+            case ROUND_ROBIN -> {
+                // the others stay behind the chosen one as failover candidates
+                int start = Math.floorMod(next.getAndIncrement(), available.size());
+                List<Replica> rotated = new ArrayList<>(available.subList(start, available.size()));
+                rotated.addAll(available.subList(0, start));
+                yield rotated;
+            }
+            case LEAST_LAG -> available.stream().sorted(Comparator.comparing(Replica::getLag)).toList();
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available = true;
+        private volatile Duration lag = Duration.ZERO;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public Duration getLag() {
+            return lag;
+        }
+
+        // taken out of rotation until the next successful lag check
+        public void markUnavailable() {
+            available = false;
+        }
+
+        void update(Duration lag, Duration maxLag) {
+            this.lag = lag;
+            this.available = lag.compareTo(maxLag) <= 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.msbeigi.sprintboot.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+    private List<Node> nodes = new ArrayList<>();
+    private ReadReplicaDataSource.Policy policy = ReadReplicaDataSource.Policy.ROUND_ROBIN;
+    // replicas further behind than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration checkInterval = Duration.ofSeconds(2);
+    // seconds behind the primary: 0 when every received WAL record is replayed, and on a server that is no standby.
+    // null on a standby whose WAL receiver is not streaming: nothing new arrives, so equal receive and replay
+    // positions no longer mean it has caught up, and the replica is taken out of rotation until it reconnects
+    private String lagQuery = "select case when not pg_is_in_recovery() then 0 "
+            + "when not exists (select 1 from pg_stat_wal_receiver where coalesce(status, 'streaming') = 'streaming') "
+            + "then null "
+            + "when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+    private int maximumPoolSize = 10;
+    // short, so a replica that went away falls back to the primary quickly instead of stalling the request
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String url;
+        // spring.datasource.username/password when not set
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,91 @@
+package com.msbeigi.sprintboot.config;
+
+import com.msbeigi.sprintboot.config.ReadReplicaDataSource.Replica;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls every replica with the lag query and takes it out of rotation while it is unreachable or further
+ * behind the primary than {@code maxLag}; it comes back on the first check that finds it caught up.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    // the first check runs before returning, so a replica that is down at startup never receives a read
+    public void start(Duration interval) {
+        checkAll();
+        scheduler.scheduleWithFixedDelay(this::checkAll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkAll() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.isAvailable();
+            try {
+                Duration lag = measureLag(replica);
+                if (lag == null) {
+                    replica.markUnavailable();
+                    if (wasAvailable) {
+                        log.warn("Replica {} is not replicating from the primary, reads fall back to the other "
+                                + "replicas or the primary", replica.getName());
+                    }
+                    continue;
+                }
+                replica.update(lag, maxLag);
+                if (wasAvailable != replica.isAvailable()) {
+                    log.info("Replica {} is {} (lag {})", replica.getName(),
+                            replica.isAvailable() ? "back in rotation" : "too far behind", replica.getLag());
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markUnavailable();
+                if (wasAvailable) {
+                    log.warn("Replica {} is unreachable, reads fall back to the other replicas or the primary",
+                            replica.getName(), e);
+                }
+            }
+        }
+    }
+
+    // null when the lag query cannot tell how far behind the replica is
+    private Duration measureLag(Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                resultSet.next();
+                double seconds = resultSet.getDouble(1);
+                return resultSet.wasNull() ? null : Duration.ofMillis(Math.round(seconds * 1000));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
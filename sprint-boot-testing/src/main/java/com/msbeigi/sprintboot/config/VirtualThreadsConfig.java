@@ -0,0 +1,25 @@
+package com.msbeigi.sprintboot.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refuses to start with {@code spring.threads.virtual.enabled} on a runtime without virtual threads. Boot would
+ * silently keep Tomcat on its 200 platform threads while the virtual-threads profile still opens up to 10000
+ * connections and a fixed pool sized for unbounded concurrency, so requests would pile up behind the threads.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static final int MINIMUM_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MINIMUM_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs Java " + MINIMUM_JAVA_VERSION
+                    + " or later, this runtime is Java " + javaVersion
+                    + "; build with -Pjava21 and run on a Java 21 JRE, or drop the virtual-threads profile");
+        }
+    }
+}
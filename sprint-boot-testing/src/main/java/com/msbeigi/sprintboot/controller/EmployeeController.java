@@ -1,21 +1,53 @@
 package com.msbeigi.sprintboot.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbeigi.sprintboot.dto.BulkDeleteResult;
+import com.msbeigi.sprintboot.dto.BulkImportResult;
+import com.msbeigi.sprintboot.dto.EmployeePage;
 import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.exception.DuplicateEmailException;
 import com.msbeigi.sprintboot.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int bulkBatchSize;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService,
+                              ObjectMapper objectMapper,
+                              @Value("${employee.pagination.default-size:50}") int defaultPageSize,
+                              @Value("${employee.pagination.max-size:1000}") int maxPageSize,
+                              @Value("${employee.bulk.batch-size:500}") int bulkBatchSize) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.bulkBatchSize = bulkBatchSize;
     }
 
     @PostMapping
@@ -24,38 +56,195 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    // accepts a JSON array or NDJSON and imports it in batches, each in its own transaction
+    @PostMapping(value = "bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public BulkImportResult createEmployees(InputStream body) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(body)) {
+            List<Employee> batch = new ArrayList<>(bulkBatchSize);
+            while (employees.hasNextValue()) {
+                batch.add(employees.nextValue());
+                if (batch.size() == bulkBatchSize) {
+                    result.add(saveBatch(batch));
+                    batch = new ArrayList<>(bulkBatchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                result.add(saveBatch(batch));
+            }
+        }
+        return result;
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<Employee> getAllEmployees() {
         return employeeService.getAllEmployees();
     }
 
+    // batch lookup for callers that would otherwise issue one GET per id, resolved with a single IN query;
+    // unknown ids are left out and at most employee.pagination.max-size ids are accepted
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Employee>> getEmployeesByIds(@RequestParam("ids") List<Long> employeeIds) {
+        return batchGet(employeeIds);
+    }
+
+    // same as GET ?ids=, for id lists too long for a query string
+    @PostMapping("batch-get")
+    public ResponseEntity<List<Employee>> batchGetEmployees(@RequestBody List<Long> employeeIds) {
+        return batchGet(employeeIds);
+    }
+
+    @GetMapping("page")
+    @ResponseStatus(HttpStatus.OK)
+    public EmployeePage getEmployeesPage(@RequestParam(value = "after", required = false) Long afterId,
+                                         @RequestParam(value = "size", required = false) Integer size) {
+        return employeeService.getEmployeesPage(afterId, resolvePageSize(size));
+    }
+
+    // exact (last name, first name) lookup by default, case-insensitive prefix search with prefix=true
+    @GetMapping("search")
+    public ResponseEntity<Slice<Employee>> searchEmployees(@RequestParam("lastName") String lastName,
+                                                           @RequestParam(value = "firstName", required = false) String firstName,
+                                                           @RequestParam(value = "prefix", defaultValue = "false") boolean prefix,
+                                                           @RequestParam(value = "page", defaultValue = "0") int page,
+                                                           @RequestParam(value = "size", required = false) Integer size) {
+        if (!prefix && firstName == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), resolvePageSize(size));
+        return ResponseEntity.ok(employeeService.searchEmployeesByName(lastName, firstName, prefix, pageRequest));
+    }
+
+    @GetMapping("stream")
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // a cursor failing mid-stream must leave the array unterminated: closing it on the way out would
+                // hand the client a valid but truncated export under a 200
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartArray();
+                employeeService.streamAllEmployees(employee -> {
+                    try {
+                        generator.writeObject(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // the ETag lets Spring answer a matching If-None-Match with 304 without writing the body
     @GetMapping("{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long employeeId) {
         return employeeService.getEmployeeById(employeeId)
-                .map(maybeEmployee -> ResponseEntity.ok().body(maybeEmployee))
+                .map(maybeEmployee -> ResponseEntity.ok().eTag(eTag(maybeEmployee)).body(maybeEmployee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long employeeId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                    @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(employeeId)
-                .map(maybeEmployee -> {
-                    maybeEmployee.setFirstName(employee.getFirstName());
-                    maybeEmployee.setLastName(employee.getLastName());
-                    maybeEmployee.setEmail(employee.getEmail());
-
-                    return ResponseEntity.ok().body(employeeService.updateEmployee(maybeEmployee));
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        if (ifMatch != null) {
+            employee.setVersion(parseVersion(ifMatch));
+        }
+        return employeeService.updateEmployee(employeeId, employee)
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(eTag(updatedEmployee)).body(updatedEmployee))
+                .orElseGet(() -> missing(ifMatch));
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable("id") Long employeeId) {
-        employeeService.deleteEmployeeById(employeeId);
+    public ResponseEntity<String> deleteEmployee(@PathVariable("id") Long employeeId,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = parseVersion(ifMatch);
+        boolean deleted = expectedVersion == null
+                ? employeeService.deleteEmployeeById(employeeId)
+                : employeeService.deleteEmployeeByIdAndVersion(employeeId, expectedVersion);
+        if (!deleted) {
+            return missing(ifMatch);
+        }
         return ResponseEntity.ok().body("Employee successfully deleted!");
     }
-}
 
+    // one DELETE ... WHERE id IN (...) per batch; unknown ids are simply not counted
+    @PostMapping("bulk-delete")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkDeleteResult deleteEmployees(@RequestBody List<Long> employeeIds) {
+        List<Long> ids = employeeIds.stream().filter(Objects::nonNull).distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += bulkBatchSize) {
+            deleted += employeeService.deleteEmployeesByIds(ids.subList(from, Math.min(from + bulkBatchSize, ids.size())));
+        }
+        return new BulkDeleteResult(employeeIds.size(), deleted);
+    }
+
+    // PUT with an email another employee already has
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<String> handleDuplicateEmail(DuplicateEmailException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleVersionConflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Employee was modified concurrently.");
+    }
+
+    private ResponseEntity<List<Employee>> batchGet(List<Long> employeeIds) {
+        List<Long> ids = employeeIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
 
+    // a constraint violation at commit, typically a concurrent create of one of the emails between the duplicate
+    // check and the flush, rolls back only this batch; it is reported instead of failing the whole import
+    private BulkImportResult saveBatch(List<Employee> batch) {
+        try {
+            return employeeService.saveEmployees(batch);
+        } catch (DataIntegrityViolationException e) {
+            return BulkImportResult.builder().received(batch.size()).failed(batch.size()).build();
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private static String eTag(Employee employee) {
+        return employee.getVersion() == null ? null : "\"" + employee.getVersion() + "\"";
+    }
+
+    // If-Match: * only holds when the employee exists, any other If-Match on a missing one is a plain 404
+    private static <T> ResponseEntity<T> missing(String ifMatch) {
+        return isWildcard(ifMatch)
+                ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private static boolean isWildcard(String ifMatch) {
+        return ifMatch != null && ifMatch.trim().equals("*");
+    }
+
+    // null means no version check (no header or *); If-Match uses strong comparison, so weak and unparsable tags
+    // can never match and map to an impossible version
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || isWildcard(ifMatch)) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.msbeigi.sprintboot.dto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkDeleteResult {
+
+    private int received;
+
+    private int deleted;
+}
@@ -0,0 +1,39 @@
+package com.msbeigi.sprintboot.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportResult {
+
+    private int received;
+
+    private int created;
+
+    // emails skipped because they already exist or appear twice in the same request
+    @Builder.Default
+    private List<String> duplicateEmails = new ArrayList<>();
+
+    // rows without an email, first name or last name, rejected before the batch is written
+    private int invalid;
+
+    // rows of batches rolled back at commit, e.g. because a concurrent create took one of their emails
+    private int failed;
+
+    public BulkImportResult(int received, int created, List<String> duplicateEmails) {
+        this(received, created, duplicateEmails, 0, 0);
+    }
+
+    public void add(BulkImportResult other) {
+        received += other.received;
+        created += other.created;
+        duplicateEmails.addAll(other.duplicateEmails);
+        invalid += other.invalid;
+        failed += other.failed;
+    }
+}
@@ -0,0 +1,20 @@
+package com.msbeigi.sprintboot.dto;
+
+import com.msbeigi.sprintboot.entity.Employee;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeePage {
+
+    private List<Employee> content;
+
+    // id of the last employee in content, pass it back as "after" to get the next page
+    private Long nextCursor;
+
+    private boolean hasNext;
+}
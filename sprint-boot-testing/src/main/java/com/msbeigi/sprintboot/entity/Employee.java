@@ -2,6 +2,8 @@ package com.msbeigi.sprintboot.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
@@ -9,11 +11,20 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+// second-level cache, sized in application.conf
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+// the prefix search index is on lower(...) expressions, which @Index cannot declare; it only exists in migration V5
+@Table(name = "employees", indexes = @Index(name = "ix_employees_last_first", columnList = "last_name, first_name"))
 public class Employee {
 
+    // a dotted default region name (the class name) would be split into a path by the cache config
+    public static final String CACHE_REGION = "employee-entities";
+
+    // pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -24,4 +35,8 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    // exposed as the ETag of GET /api/employees/{id} and checked against If-Match on writes
+    @Version
+    private Long version;
 }
@@ -0,0 +1,8 @@
+package com.msbeigi.sprintboot.exception;
+
+
+public class DuplicateEmailException extends RuntimeException {
+    public DuplicateEmailException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
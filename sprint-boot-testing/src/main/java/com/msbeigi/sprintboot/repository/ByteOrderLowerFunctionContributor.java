@@ -0,0 +1,27 @@
+package com.msbeigi.sprintboot.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code lower_bytewise(x)}: {@code lower(x)} folded in x's own collation, then compared and sorted in
+ * byte order, the expression ix_employees_lower_last_first_id is built on (see V5). Collating the column itself
+ * would restrict lower() to ASCII. H2 has no COLLATE for expressions and compares in code point order anyway,
+ * so there it is a plain lower(x). Registered in META-INF/services.
+ */
+public class ByteOrderLowerFunctionContributor implements FunctionContributor {
+
+    public static final String LOWER_BYTEWISE = "lower_bytewise";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(lower(?1) collate \"C\")"
+                : "lower(?1)";
+        functionContributions.getFunctionRegistry().registerPattern(LOWER_BYTEWISE, pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.STRING));
+    }
+}
@@ -0,0 +1,23 @@
+package com.msbeigi.sprintboot.repository;
+
+import java.util.Collection;
+
+/**
+ * Single-statement updates and deletes by id that do not load the entity first. Unlike a bulk JPQL statement,
+ * which makes Hibernate drop the whole employee entity region, they only evict the rows they touch.
+ */
+public interface EmployeeBulkWrites {
+
+    // single conditional UPDATE, the affected row count tells whether the id exists
+    int updateNameAndEmail(Long id, String firstName, String lastName, String email);
+
+    // optimistic variant, 0 rows means the id is missing or the version moved on
+    int updateNameAndEmailIfVersion(Long id, Long version, String firstName, String lastName, String email);
+
+    // instead of JpaRepository.deleteById, which loads the entity before removing it
+    int removeById(Long id);
+
+    int removeByIdIn(Collection<Long> ids);
+
+    int deleteByIdAndVersion(Long id, Long version);
+}
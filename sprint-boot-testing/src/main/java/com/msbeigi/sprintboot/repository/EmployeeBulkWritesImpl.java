@@ -0,0 +1,91 @@
+package com.msbeigi.sprintboot.repository;
+
+import com.msbeigi.sprintboot.entity.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Native statements synchronized on their own query space: the employees table space would make Hibernate evict
+// the entire employee region, a JPQL bulk statement does the same. The touched ids are evicted here instead, once
+// right away and again after completion, so a reader that loaded the old row meanwhile cannot leave it cached.
+// Cached query results may contain any row, so the query region goes on every write, as the table timestamp did
+class EmployeeBulkWritesImpl implements EmployeeBulkWrites {
+
+    private static final String QUERY_SPACE = "employee-bulk-writes";
+
+    private final EntityManager entityManager;
+
+    EmployeeBulkWritesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int updateNameAndEmail(Long id, String firstName, String lastName, String email) {
+        return execute("update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+                        + "version = version + 1 where id = :id",
+                Map.of("id", id, "firstName", firstName, "lastName", lastName, "email", email), List.of(id));
+    }
+
+    @Override
+    @Transactional
+    public int updateNameAndEmailIfVersion(Long id, Long version, String firstName, String lastName, String email) {
+        return execute("update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+                        + "version = version + 1 where id = :id and version = :version",
+                Map.of("id", id, "version", version, "firstName", firstName, "lastName", lastName, "email", email),
+                List.of(id));
+    }
+
+    @Override
+    @Transactional
+    public int removeById(Long id) {
+        return execute("delete from employees where id = :id", Map.of("id", id), List.of(id));
+    }
+
+    @Override
+    @Transactional
+    public int removeByIdIn(Collection<Long> ids) {
+        return execute("delete from employees where id in (:ids)", Map.of("ids", ids), ids);
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdAndVersion(Long id, Long version) {
+        return execute("delete from employees where id = :id and version = :version",
+                Map.of("id", id, "version", version), List.of(id));
+    }
+
+    // flushes pending changes first and clears the persistence context afterwards, like
+    // @Modifying(flushAutomatically = true, clearAutomatically = true)
+    private int execute(String sql, Map<String, Object> parameters, Collection<Long> ids) {
+        entityManager.flush();
+        NativeQuery<?> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE);
+        parameters.forEach(query::setParameter);
+        int rows = query.executeUpdate();
+        entityManager.clear();
+        evict(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(ids);
+            }
+        });
+        return rows;
+    }
+
+    private void evict(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        ids.forEach(id -> cache.evictEntityData(Employee.class, id));
+        cache.evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+    }
+}
@@ -1,24 +1,98 @@
 package com.msbeigi.sprintboot.repository;
 
 import com.msbeigi.sprintboot.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    Optional<Employee> findByEmailIgnoreCase(String email);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeBulkWrites {
+    int STREAM_FETCH_SIZE = 500;
+    // query cache region of the lookups below, invalidated whenever the employees table is written through JPA or
+    // EmployeeBulkWrites
+    String QUERY_CACHE_REGION = "employee-queries";
+    // a prefix as a range: in byte order (see lower_bytewise) every string starting with p sorts at or after p and
+    // before p + the highest code point. Range bounds remain index conditions in a generic plan, like concat(:p, '%')
+    // does not
+    String PREFIX_UPPER_BOUND = new String(Character.toChars(Character.MAX_CODE_POINT));
 
-    @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
-    Optional<Employee> findFirstNameAndLastName(String firstName, String lastName);
+    // what EmployeeService.getEmployeeById stores in the employees cache, so a read-write transaction that is served
+    // by the primary: a lagging replica would cache deleted or outdated rows for the cache TTL. Called inside a
+    // read-only transaction they join it and still go to a replica
+    @Override
+    @Transactional
+    Optional<Employee> findById(Long id);
 
-    @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
-    Optional<Employee> findFirstNameAndLastNameNamedParams(@Param("firstName") String firstName,
-                                                           @Param("lastName") String lastName);
-    @Query(value = "select * from employees e where e.first_name=?1 and e.last_name=?2", nativeQuery = true)
-    Optional<Employee> findByFirstNameAndLastNameWithNativeQuery(String firstName, String lastName);
+    @Override
+    @Transactional
+    List<Employee> findAllById(Iterable<Long> ids);
 
-    @Query(value = "select * from employees e where e.first_name=:firstName and e.last_name=:lastName", nativeQuery = true)
-    Optional<Employee> findByFirstNameAndLastNameWithNativeQueryAndNameParams(String firstName, String lastName);
+    // lower() on both sides so the lookup can use the uk_employees_email_lower index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("select e from Employee e where lower(e.email) = lower(:email)")
+    Optional<Employee> findByEmailIgnoreCase(@Param("email") String email);
+
+    // one set-based duplicate check for a whole bulk import batch, emails must already be lower case
+    @Query("select lower(e.email) from Employee e where lower(e.email) in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // exact match, backed by the composite (last_name, first_name) index; names are not unique
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    Slice<Employee> findByLastNameAndFirstNameOrderByIdAsc(String lastName, String firstName, Pageable pageable);
+
+    // case-insensitive prefix match, backed by ix_employees_lower_last_first_id (see V5); the prefixes are matched
+    // literally, no wildcards
+    default Slice<Employee> searchByNamePrefix(String lastNamePrefix, String firstNamePrefix, Pageable pageable) {
+        return searchByNameRange(lastNamePrefix, firstNamePrefix, PREFIX_UPPER_BOUND, pageable);
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("select e from Employee e " +
+            "where lower_bytewise(e.lastName) >= lower_bytewise(:lastName) " +
+            "and lower_bytewise(e.lastName) < concat(lower_bytewise(:lastName), :upperBound) " +
+            "and lower_bytewise(e.firstName) >= lower_bytewise(:firstName) " +
+            "and lower_bytewise(e.firstName) < concat(lower_bytewise(:firstName), :upperBound) " +
+            "order by lower_bytewise(e.lastName), lower_bytewise(e.firstName), e.id")
+    Slice<Employee> searchByNameRange(@Param("lastName") String lastNamePrefix,
+                                      @Param("firstName") String firstNamePrefix,
+                                      @Param("upperBound") String upperBound,
+                                      Pageable pageable);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // keyset page: seeks past the last seen id on the primary key index instead of using an offset. The scans below
+    // read the second-level cache but do not store into it, a full pass would push the hot employees out
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"))
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // must be consumed inside a transaction so PostgreSQL keeps a server-side cursor open
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllOrderById();
 }
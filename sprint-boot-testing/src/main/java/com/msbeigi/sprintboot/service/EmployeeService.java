@@ -1,19 +1,39 @@
 package com.msbeigi.sprintboot.service;
 
+import com.msbeigi.sprintboot.dto.BulkImportResult;
+import com.msbeigi.sprintboot.dto.EmployeePage;
 import com.msbeigi.sprintboot.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
 
+    BulkImportResult saveEmployees(List<Employee> employees);
+
     List<Employee> getAllEmployees();
 
+    EmployeePage getEmployeesPage(Long afterId, int size);
+
+    void streamAllEmployees(Consumer<Employee> consumer);
+
+    Slice<Employee> searchEmployeesByName(String lastName, String firstName, boolean prefix, Pageable pageable);
+
     Optional<Employee> getEmployeeById(Long id);
 
-    Employee updateEmployee(Employee employee);
+    List<Employee> getEmployeesByIds(Collection<Long> ids);
+
+    Optional<Employee> updateEmployee(Long id, Employee employee);
+
+    boolean deleteEmployeeById(Long id);
+
+    int deleteEmployeesByIds(Collection<Long> ids);
 
-    void deleteEmployeeById(Long id);
+    boolean deleteEmployeeByIdAndVersion(Long id, Long version);
 
 }
@@ -0,0 +1,85 @@
+package com.msbeigi.sprintboot.service.impl;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Merges single-key loads into batches: the first caller of a batch waits for the window, collecting the keys
+ * other callers ask for meanwhile, then resolves them all with one call of the batch function. A batch that
+ * reaches the maximum size is dispatched straight away by the caller that filled it. Callers block until their
+ * batch is resolved; keys missing from the result load as null.
+ */
+final class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private Map<K, CompletableFuture<V>> pending;
+
+    BatchLoader(Function<Collection<K>, Map<K, V>> batchFunction, Duration window, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    V load(K key) {
+        Map<K, CompletableFuture<V>> batch;
+        boolean leader = false;
+        boolean full = false;
+        CompletableFuture<V> call;
+        synchronized (this) {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+                leader = true;
+            }
+            batch = pending;
+            call = batch.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.size() >= maxBatchSize) {
+                pending = null;
+                full = true;
+            }
+        }
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            waitForWindow();
+            if (close(batch)) {
+                dispatch(batch);
+            }
+        }
+        return SingleFlight.await(call);
+    }
+
+    // false when the batch filled up and was dispatched by another caller during the window
+    private synchronized boolean close(Map<K, CompletableFuture<V>> batch) {
+        if (pending != batch) {
+            return false;
+        }
+        pending = null;
+        return true;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> values = batchFunction.apply(batch.keySet());
+            batch.forEach((key, call) -> call.complete(values.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(call -> call.completeExceptionally(e));
+        }
+    }
+
+    private void waitForWindow() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(windowNanos);
+        } catch (InterruptedException e) {
+            // dispatch early rather than leave the other callers waiting
+            Thread.currentThread().interrupt();
+        }
+    }
+}
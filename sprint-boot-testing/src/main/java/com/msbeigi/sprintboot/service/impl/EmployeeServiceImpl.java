@@ -1,50 +1,264 @@
 package com.msbeigi.sprintboot.service.impl;
 
+import com.msbeigi.sprintboot.config.CachingConfig;
+import com.msbeigi.sprintboot.dto.BulkImportResult;
+import com.msbeigi.sprintboot.dto.EmployeePage;
 import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.exception.DuplicateEmailException;
 import com.msbeigi.sprintboot.exception.ResourceNotFoundException;
 import com.msbeigi.sprintboot.repository.EmployeeRepository;
 import com.msbeigi.sprintboot.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+// one employee.service timer per method, tagged with class, method and exception
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final String EMAIL_UNIQUE_INDEX = "uk_employees_email_lower";
+
     private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final SingleFlight<Long, Optional<Employee>> employeeLookups = new SingleFlight<>();
+    // null when employee.batch-lookup.window is zero
+    private final BatchLoader<Long, Employee> employeeBatchLoader;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               EntityManager entityManager,
+                               @Value("${employee.batch-lookup.window:0ms}") Duration batchLookupWindow,
+                               @Value("${employee.batch-lookup.max-size:100}") int batchLookupMaxSize) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.employeeBatchLoader = batchLookupWindow.isZero() || batchLookupWindow.isNegative()
+                ? null
+                : new BatchLoader<>(this::findEmployeesById, batchLookupWindow, batchLookupMaxSize);
     }
 
     @Override
+    @CachePut(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#result.id")
     public Employee saveEmployee(Employee employee) {
+        // the unique index on lower(email) rejects duplicates atomically, so no pre-read is needed
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new ResourceNotFoundException("Employee with email " + employee.getEmail() + " already exists.", e);
+            }
+            throw e;
+        }
+    }
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmailIgnoreCase(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceNotFoundException("Employee with email " + employee.getEmail() + " already exists.");
+    @Override
+    @Transactional
+    public BulkImportResult saveEmployees(List<Employee> employees) {
+        Map<String, Employee> employeesByEmail = new LinkedHashMap<>();
+        List<String> duplicateEmails = new ArrayList<>();
+        int invalid = 0;
+        for (Employee employee : employees) {
+            // the columns are NOT NULL, one such row would fail the whole batch at commit
+            if (isMissing(employee.getEmail()) || isMissing(employee.getFirstName())
+                    || isMissing(employee.getLastName())) {
+                invalid++;
+                continue;
+            }
+            String email = employee.getEmail().toLowerCase(Locale.ROOT);
+            if (employeesByEmail.putIfAbsent(email, employee) != null) {
+                duplicateEmails.add(employee.getEmail());
+            }
         }
-        return employeeRepository.save(employee);
+
+        Set<String> existingEmails = employeesByEmail.isEmpty()
+                ? Set.of()
+                : employeeRepository.findExistingEmails(employeesByEmail.keySet());
+        List<Employee> newEmployees = new ArrayList<>(employeesByEmail.size());
+        employeesByEmail.forEach((email, employee) -> {
+            if (existingEmails.contains(email)) {
+                duplicateEmails.add(employee.getEmail());
+            } else {
+                newEmployees.add(employee);
+            }
+        });
+
+        // ids come from the pooled sequence, so these are flushed as JDBC batches on commit. Inserted entities are
+        // stored in employee-entities as the transaction completes, and a nightly load would push the hot employees
+        // out: the cache store is bypassed until then
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+                }
+            });
+        }
+        employeeRepository.saveAll(newEmployees);
+        return new BulkImportResult(employees.size(), newEmployees.size(), duplicateEmails, invalid, 0);
+    }
+
+    private static boolean isMissing(String value) {
+        return value == null || value.isBlank();
     }
 
+    // read-only transactions are served by a replica when employee.read-replicas is enabled
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(Long afterId, int size) {
+        // fetch one extra row to know whether there is a next page without a count query
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId == null ? 0L : afterId, PageRequest.of(0, size + 1));
+
+        boolean hasNext = employees.size() > size;
+        List<Employee> content = hasNext ? employees.subList(0, size) : employees;
+        Long nextCursor = content.isEmpty() ? afterId : content.get(content.size() - 1).getId();
+
+        return new EmployeePage(content, nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderById()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // drop it from the persistence context so memory stays flat for the whole table
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Employee> searchEmployeesByName(String lastName, String firstName, boolean prefix,
+                                                 Pageable pageable) {
+        if (prefix) {
+            return employeeRepository.searchByNamePrefix(lastName, firstName == null ? "" : firstName, pageable);
+        }
+        return employeeRepository.findByLastNameAndFirstNameOrderByIdAsc(lastName, firstName, pageable);
+    }
+
+    // misses are not cached, so an id created after a 404 is visible straight away;
+    // concurrent misses for one id share a single query, and with a batch-lookup window misses for different ids
+    // are merged into one IN query. No transaction here: followers would hold a connection while they wait,
+    // the repository call runs in its own one, on the primary so a replica never fills the cache
+    @Override
+    @Cacheable(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#id", unless = "#result == null")
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        if (employeeBatchLoader == null || id == null) {
+            return employeeLookups.execute(id, () -> employeeRepository.findById(id));
+        }
+        // the batch loader only merges ids while its window is open, a lookup arriving while the batch query runs
+        // joins that query here instead of starting the next batch
+        return employeeLookups.execute(id, () -> Optional.ofNullable(employeeBatchLoader.load(id)));
+    }
+
+    // one IN query for the whole list, unknown ids are left out
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return employeeRepository.findAllById(ids);
+    }
+
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#id", unless = "#result == null")
+    public Optional<Employee> updateEmployee(Long id, Employee employee) {
+        Long expectedVersion = employee.getVersion();
+        int updatedRows;
+        try {
+            updatedRows = expectedVersion == null
+                    ? employeeRepository.updateNameAndEmail(id, employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail())
+                    : employeeRepository.updateNameAndEmailIfVersion(id, expectedVersion, employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail());
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new DuplicateEmailException("Employee with email " + employee.getEmail() + " already exists.", e);
+            }
+            throw e;
+        }
+        if (updatedRows == 0) {
+            if (expectedVersion != null && employeeRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+            }
+            return Optional.empty();
+        }
+        // every column was overwritten, so the new state is known without reading the whole row back
+        Long version = expectedVersion == null
+                ? employeeRepository.findVersionById(id).orElseThrow()
+                : expectedVersion + 1;
+        return Optional.of(new Employee(id, employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                version));
     }
 
     @Override
-    public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#id")
+    public boolean deleteEmployeeById(Long id) {
+        return employeeRepository.removeById(id) > 0;
     }
 
     @Override
-    public void deleteEmployeeById(Long id) {
-        employeeRepository.deleteById(id);
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int deleteEmployeesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return employeeRepository.removeByIdIn(ids);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#id")
+    public boolean deleteEmployeeByIdAndVersion(Long id, Long version) {
+        if (employeeRepository.deleteByIdAndVersion(id, version) > 0) {
+            return true;
+        }
+        if (employeeRepository.existsById(id)) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        return false;
+    }
+
+    private Map<Long, Employee> findEmployeesById(Collection<Long> ids) {
+        return employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX);
     }
 }
@@ -0,0 +1,4 @@
+-- H2 counterpart of V2's uk_employees_email_lower: H2 cannot index lower(email) directly, so the unique index
+-- sits on a generated column; one statement per line, run by Hibernate after create-drop builds the schema
+alter table employees add column email_lower varchar(255) generated always as (lower(email));
+create unique index uk_employees_email_lower on employees (email_lower);
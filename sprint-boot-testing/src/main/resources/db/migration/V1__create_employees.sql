@@ -0,0 +1,9 @@
+create sequence if not exists employees_seq start with 1 increment by 50;
+
+create table if not exists employees
+(
+    id         bigint       not null primary key,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    email      varchar(255) not null
+);
@@ -0,0 +1,6 @@
+-- databases baselined from ddl-auto still have an identity id and may lack the sequence,
+-- move it past the existing ids (the pooled optimizer hands out nextval - 49 .. nextval)
+create sequence if not exists employees_seq start with 1 increment by 50;
+select setval('employees_seq', (select coalesce(max(id), 0) + 50 from employees), false);
+
+create unique index if not exists uk_employees_email_lower on employees (lower(email));
@@ -0,0 +1,6 @@
+-- exact (last name, first name) lookups
+create index if not exists ix_employees_last_first on employees (last_name, first_name);
+
+-- case-insensitive prefix search: lower(col) like 'abc%' needs pattern ops to be index-backed
+create index if not exists ix_employees_lower_last_first_prefix
+    on employees (lower(last_name) text_pattern_ops, lower(first_name) text_pattern_ops);
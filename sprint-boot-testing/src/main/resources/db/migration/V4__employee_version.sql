@@ -0,0 +1 @@
+alter table employees add column if not exists version bigint not null default 0;
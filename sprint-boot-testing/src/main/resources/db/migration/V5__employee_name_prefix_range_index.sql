@@ -0,0 +1,7 @@
+-- the prefix search is a range (lower(col) >= p and < p || U+10FFFF): unlike like 'p%' it stays an index
+-- condition in the generic plans pgjdbc gets once statements are server-prepared, and the index below also
+-- yields its ORDER BY without a sort. lower() runs in the columns' default collation, so non-ASCII names fold
+-- too; only its result is compared in byte order, which is what makes the range a prefix match
+drop index if exists ix_employees_lower_last_first_prefix;
+create index if not exists ix_employees_lower_last_first_id
+    on employees (lower(last_name) collate "C", lower(first_name) collate "C", id);
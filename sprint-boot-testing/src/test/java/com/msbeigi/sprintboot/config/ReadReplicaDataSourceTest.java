@@ -0,0 +1,134 @@
+package com.msbeigi.sprintboot.config;
+
+import com.msbeigi.sprintboot.config.ReadReplicaDataSource.Replica;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final String LAG_QUERY = new ReadReplicaProperties().getLagQuery();
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplicaDataSource;
+
+    @Mock
+    private DataSource secondReplicaDataSource;
+
+    private Replica firstReplica;
+    private Replica secondReplica;
+
+    @BeforeEach
+    void setUp() {
+        firstReplica = new Replica("replica-1", firstReplicaDataSource);
+        secondReplica = new Replica("replica-2", secondReplicaDataSource);
+    }
+
+    @Test
+    public void givenTwoReplicas_whenGetConnectionRepeatedly_thenAlternateBetweenThem() throws SQLException {
+        // given - precondition or setup
+        Connection firstConnection = mock(Connection.class);
+        Connection secondConnection = mock(Connection.class);
+        given(firstReplicaDataSource.getConnection()).willReturn(firstConnection);
+        given(secondReplicaDataSource.getConnection()).willReturn(secondConnection);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primary, List.of(firstReplica, secondReplica),
+                ReadReplicaDataSource.Policy.ROUND_ROBIN);
+
+        // when - action and the behaviour that we are going to test
+        List<Connection> connections = List.of(dataSource.getConnection(), dataSource.getConnection(),
+                dataSource.getConnection());
+
+        // then - verify the output
+        assertThat(connections).containsExactly(firstConnection, secondConnection, firstConnection);
+    }
+
+    @Test
+    public void givenLaggingReplica_whenGetConnection_thenSkipIt() throws SQLException {
+        // given - precondition or setup
+        Connection secondConnection = mock(Connection.class);
+        given(secondReplicaDataSource.getConnection()).willReturn(secondConnection);
+        firstReplica.update(Duration.ofSeconds(30), MAX_LAG);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primary, List.of(firstReplica, secondReplica),
+                ReadReplicaDataSource.Policy.ROUND_ROBIN);
+
+        // when - action and the behaviour that we are going to test
+        List<Connection> connections = List.of(dataSource.getConnection(), dataSource.getConnection());
+
+        // then - verify the output
+        assertThat(firstReplica.isAvailable()).isFalse();
+        assertThat(connections).containsOnly(secondConnection);
+    }
+
+    @Test
+    public void givenLeastLagPolicy_whenGetConnection_thenPreferMostCaughtUpReplica() throws SQLException {
+        // given - precondition or setup
+        Connection secondConnection = mock(Connection.class);
+        given(secondReplicaDataSource.getConnection()).willReturn(secondConnection);
+        firstReplica.update(Duration.ofSeconds(2), MAX_LAG);
+        secondReplica.update(Duration.ofMillis(100), MAX_LAG);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primary, List.of(firstReplica, secondReplica),
+                ReadReplicaDataSource.Policy.LEAST_LAG);
+
+        // when - action and the behaviour that we are going to test
+        Connection connection = dataSource.getConnection();
+
+        // then - verify the output
+        assertThat(connection).isSameAs(secondConnection);
+    }
+
+    @Test
+    public void givenUnreachableReplicas_whenGetConnection_thenFallBackToPrimary() throws SQLException {
+        // given - precondition or setup
+        Connection primaryConnection = mock(Connection.class);
+        given(firstReplicaDataSource.getConnection()).willThrow(new SQLException("Connection refused"));
+        given(primary.getConnection()).willReturn(primaryConnection);
+        secondReplica.markUnavailable();
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primary, List.of(firstReplica, secondReplica),
+                ReadReplicaDataSource.Policy.ROUND_ROBIN);
+
+        // when - action and the behaviour that we are going to test
+        Connection connection = dataSource.getConnection();
+
+        // then - verify the output
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(firstReplica.isAvailable()).isFalse();
+    }
+
+    @Test
+    public void givenStandbyNotReplicating_whenCheckLag_thenTakeItOutOfRotation() throws SQLException {
+        // given - precondition or setup
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        given(firstReplicaDataSource.getConnection()).willReturn(connection);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery(LAG_QUERY)).willReturn(resultSet);
+        given(resultSet.wasNull()).willReturn(true);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(firstReplica), LAG_QUERY, MAX_LAG);
+
+        // when - action and the behaviour that we are going to test
+        monitor.checkAll();
+
+        // then - verify the output
+        assertThat(firstReplica.isAvailable()).isFalse();
+    }
+}
@@ -0,0 +1,41 @@
+package com.msbeigi.sprintboot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    public void givenVirtualThreadsEnabled_whenStartContext_thenFailBelowJava21() {
+        // given - precondition or setup
+        boolean supported = Runtime.version().feature() >= VirtualThreadsConfig.MINIMUM_JAVA_VERSION;
+
+        // when - action and the behaviour that we are going to test
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+
+            // then - verify the output
+            if (supported) {
+                assertThat(context).hasNotFailed();
+            } else {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure()).rootCause().hasMessageContaining("needs Java 21");
+            }
+        });
+    }
+
+    @Test
+    public void givenVirtualThreadsDisabled_whenStartContext_thenStartOnAnyRuntime() {
+        // when - action and the behaviour that we are going to test
+        contextRunner.run(context -> {
+
+            // then - verify the output
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(VirtualThreadsConfig.class);
+        });
+    }
+}
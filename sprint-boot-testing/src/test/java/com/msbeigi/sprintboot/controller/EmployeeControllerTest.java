@@ -1,27 +1,44 @@
 package com.msbeigi.sprintboot.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msbeigi.sprintboot.dto.BulkImportResult;
+import com.msbeigi.sprintboot.dto.EmployeePage;
 import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.exception.DuplicateEmailException;
 import com.msbeigi.sprintboot.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest
 class EmployeeControllerTest {
@@ -63,6 +80,102 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    @Test
+    public void givenJsonArrayOfEmployees_whenCreateEmployees_thenReturnImportSummary() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.saveEmployees(anyList()))
+                .willReturn(new BulkImportResult(2, 1, new ArrayList<>(List.of("ali@gmail.com"))));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post(BASE_URI + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee, employee2))));
+
+        // then - verify the output
+        response
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.duplicateEmails[0]", is("ali@gmail.com")));
+    }
+
+    @Test
+    public void givenNdjsonEmployees_whenCreateEmployees_thenImportInBatches() throws Exception {
+        // given - precondition or setup
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 501; i++) {
+            Employee employee = Employee.builder()
+                    .firstName("Mohsen" + i)
+                    .lastName("Sadeghbeigi")
+                    .email("mohsen" + i + "@gmail.com")
+                    .build();
+            content.append(objectMapper.writeValueAsString(employee)).append('\n');
+        }
+
+        given(employeeService.saveEmployees(anyList()))
+                .willAnswer(invocation -> {
+                    List<Employee> batch = invocation.getArgument(0);
+                    return new BulkImportResult(batch.size(), batch.size(), new ArrayList<>());
+                });
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post(BASE_URI + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(content.toString()));
+
+        // then - verify the output
+        response
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.received", is(501)))
+                .andExpect(jsonPath("$.created", is(501)));
+        verify(employeeService, times(2)).saveEmployees(anyList());
+    }
+
+    @Test
+    public void givenBatchRolledBackAtCommit_whenCreateEmployees_thenReportItAsFailed() throws Exception {
+        // given - precondition or setup
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 501; i++) {
+            Employee employee = Employee.builder()
+                    .firstName("Mohsen" + i)
+                    .lastName("Sadeghbeigi")
+                    .email("mohsen" + i + "@gmail.com")
+                    .build();
+            content.append(objectMapper.writeValueAsString(employee)).append('\n');
+        }
+
+        given(employeeService.saveEmployees(anyList()))
+                .willThrow(new DataIntegrityViolationException("uk_employees_email_lower"))
+                .willAnswer(invocation -> {
+                    List<Employee> batch = invocation.getArgument(0);
+                    return new BulkImportResult(batch.size(), batch.size(), new ArrayList<>());
+                });
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post(BASE_URI + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(content.toString()));
+
+        // then - verify the output
+        response
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.received", is(501)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(500)));
+    }
+
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() throws Exception {
         // given - precondition or setup
@@ -89,6 +202,147 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.size()", is(employees.size())));
     }
 
+    @Test
+    public void givenCursorAndSize_whenGetEmployeesPage_thenReturnEmployeePage() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(11L)
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+        EmployeePage page = new EmployeePage(List.of(employee), employee.getId(), true);
+
+        given(employeeService.getEmployeesPage(10L, 1)).willReturn(page);
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/page")
+                .param("after", "10")
+                .param("size", "1"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is(11)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+    }
+
+    @Test
+    public void givenTooLargePageSize_whenGetEmployeesPage_thenClampToMaxPageSize() throws Exception {
+        // given - precondition or setup
+        given(employeeService.getEmployeesPage(eq(null), eq(1000)))
+                .willReturn(new EmployeePage(List.of(), null, false));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/page")
+                .param("size", "100000"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(0)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    public void givenNamePrefix_whenSearchEmployees_thenReturnMatchingEmployees() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+        PageRequest pageRequest = PageRequest.of(0, 50);
+
+        given(employeeService.searchEmployeesByName("sadegh", null, true, pageRequest))
+                .willReturn(new SliceImpl<>(List.of(employee), pageRequest, false));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/search")
+                .param("lastName", "sadegh")
+                .param("prefix", "true"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.content[0].email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.last", is(true)));
+    }
+
+    @Test
+    public void givenExactSearchWithoutFirstName_whenSearchEmployees_thenBadRequest() throws Exception {
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/search")
+                .param("lastName", "Sadeghbeigi"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenListOfEmployees_whenStreamAllEmployees_thenWriteJsonArray() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee2);
+            return null;
+        }).given(employeeService).streamAllEmployees(any(Consumer.class));
+
+        // when - action and the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get(BASE_URI + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].email", is(employee2.getEmail())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenCursorFailingMidStream_whenStreamAllEmployees_thenLeaveJsonArrayUnterminated() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            throw new DataAccessResourceFailureException("connection reset");
+        }).given(employeeService).streamAllEmployees(any(Consumer.class));
+
+        // when - action and the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get(BASE_URI + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        // then - verify the output
+        assertThat(result.getResponse().getContentAsString()).startsWith("[").doesNotEndWith("]");
+    }
+
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenShouldReturnEmployeeObject() throws Exception {
         // given - precondition or setup
@@ -113,6 +367,48 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesFromOneLookup() throws Exception {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().id(1L).firstName("Mohsen").lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com").build();
+        Employee employee2 = Employee.builder().id(2L).firstName("Ali").lastName("Sadeghi")
+                .email("ali@gmail.com").build();
+
+        given(employeeService.getEmployeesByIds(List.of(1L, 2L, 3L))).willReturn(List.of(employee1, employee2));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI).param("ids", "1,2,3,2"));
+
+        // then - verify the output
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].email", is(employee2.getEmail())));
+        verify(employeeService, times(1)).getEmployeesByIds(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    public void givenTooManyEmployeeIds_whenBatchGetEmployees_thenReturnBadRequest() throws Exception {
+        // given - precondition or setup
+        List<Long> employeeIds = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            employeeIds.add(id);
+        }
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post(BASE_URI + "/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeIds)));
+
+        // then - verify the output
+        response
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, times(0)).getEmployeesByIds(anyList());
+    }
+
     @Test
     public void givenInvalidEmployeeId_whenGetEmployeeById_thenShouldReturnEmpty() throws Exception {
         // given - precondition or setup
@@ -149,9 +445,8 @@ class EmployeeControllerTest {
                 .email("ali@gmail.com")
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class)))
+                .willAnswer(invocation -> Optional.of(invocation.getArgument(1)));
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc
@@ -184,7 +479,7 @@ class EmployeeControllerTest {
                 .email("ali@gmail.com")
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class))).willReturn(Optional.empty());
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc
@@ -199,12 +494,38 @@ class EmployeeControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void givenTakenEmail_whenUpdateEmployee_thenConflict() throws Exception {
+        // given - precondition or setup
+        Long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class)))
+                .willThrow(new DuplicateEmailException("Employee with email ali@gmail.com already exists.", null));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc
+                .perform(put(BASE_URI + "/{id}", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEmployee))
+                );
+
+        // then - verify the output
+        response
+                .andExpect(status().isConflict())
+                .andDo(print());
+    }
+
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenShouldDeleteAnEmployee() throws Exception {
         // given - precondition or setup
         Long employeeId = 1L;
 
-        willDoNothing().given(employeeService).deleteEmployeeById(employeeId);
+        given(employeeService.deleteEmployeeById(employeeId)).willReturn(true);
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc
@@ -216,22 +537,226 @@ class EmployeeControllerTest {
                 .andDo(print());
     }
 
-}
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenReturnNotFound() throws Exception {
+        // given - precondition or setup
+        Long employeeId = 1L;
 
+        given(employeeService.deleteEmployeeById(employeeId)).willReturn(false);
 
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc
+                .perform(delete(BASE_URI + "/{id}", employeeId));
 
+        // then - verify the output
+        response
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
 
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenDeleteInBatches() throws Exception {
+        // given - precondition or setup
+        List<Long> employeeIds = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            employeeIds.add(id);
+        }
+        employeeIds.add(1L);
 
+        given(employeeService.deleteEmployeesByIds(anyList()))
+                .willAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
 
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post(BASE_URI + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeIds)));
 
+        // then - verify the output
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.received", is(502)))
+                .andExpect(jsonPath("$.deleted", is(501)));
+        verify(employeeService, times(2)).deleteEmployeesByIds(anyList());
+    }
 
+    @Test
+    public void givenVersionedEmployee_whenGetEmployeeById_thenReturnETag() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .version(3L)
+                .build();
 
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
 
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/{id}", 1L));
 
+        // then - verify the output
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployeeById_thenNotModified() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .version(3L)
+                .build();
 
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
 
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
 
+        // then - verify the output
+        response
+                .andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(content().string(""));
+    }
 
+    @Test
+    public void givenIfMatch_whenUpdateEmployee_thenPassExpectedVersionAndReturnNewETag() throws Exception {
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
 
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class)))
+                .willAnswer(invocation -> {
+                    Employee employee = invocation.getArgument(1);
+                    assertThat(employee.getVersion()).isEqualTo(3L);
+                    employee.setVersion(4L);
+                    return Optional.of(employee);
+                });
 
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
 
+        // then - verify the output
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenPreconditionFailed() throws Exception {
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenDeleteEmployee_thenPreconditionFailed() throws Exception {
+        // given - precondition or setup
+        given(employeeService.deleteEmployeeByIdAndVersion(1L, 2L))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(delete(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\""));
+
+        // then - verify the output
+        response
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @Test
+    public void givenWeakIfMatch_whenUpdateEmployee_thenPreconditionFailed() throws Exception {
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(eq(1L), argThat(employee -> employee.getVersion() == -1L)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @Test
+    public void givenWildcardIfMatchForMissingEmployee_whenUpdateEmployee_thenPreconditionFailed() throws Exception {
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class))).willReturn(Optional.empty());
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @Test
+    public void givenWildcardIfMatchForMissingEmployee_whenDeleteEmployee_thenPreconditionFailed() throws Exception {
+        // given - precondition or setup
+        given(employeeService.deleteEmployeeById(1L)).willReturn(false);
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(delete(BASE_URI + "/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "*"));
+
+        // then - verify the output
+        response
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+}
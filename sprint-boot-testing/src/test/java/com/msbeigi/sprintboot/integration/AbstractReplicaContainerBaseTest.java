@@ -0,0 +1,40 @@
+package com.msbeigi.sprintboot.integration;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * A primary and a replica as two independent PostgreSQL containers. They do not replicate, so a test can tell
+ * which one served a query by the rows it sees.
+ */
+public abstract class AbstractReplicaContainerBaseTest {
+
+    static final PostgreSQLContainer PRIMARY_CONTAINER;
+    static final PostgreSQLContainer REPLICA_CONTAINER;
+    static {
+        PRIMARY_CONTAINER = new PostgreSQLContainer("postgres:15.3");
+        REPLICA_CONTAINER = new PostgreSQLContainer("postgres:15.3");
+        PRIMARY_CONTAINER.start();
+        REPLICA_CONTAINER.start();
+        // the application only migrates the primary
+        Flyway.configure()
+                .dataSource(REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    public static void dynamicPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", PRIMARY_CONTAINER::getPassword);
+        registry.add("employee.read-replicas.enabled", () -> "true");
+        registry.add("employee.read-replicas.nodes[0].url", REPLICA_CONTAINER::getJdbcUrl);
+        registry.add("employee.read-replicas.nodes[0].username", REPLICA_CONTAINER::getUsername);
+        registry.add("employee.read-replicas.nodes[0].password", REPLICA_CONTAINER::getPassword);
+        // tests take the replica out of rotation themselves, the monitor must not put it back meanwhile
+        registry.add("employee.read-replicas.check-interval", () -> "1h");
+    }
+}
@@ -3,17 +3,22 @@ package com.msbeigi.sprintboot.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.msbeigi.sprintboot.entity.Employee;
 import com.msbeigi.sprintboot.repository.EmployeeRepository;
+import com.msbeigi.sprintboot.support.StatementCounter;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -35,9 +40,15 @@ public class EmployeeControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statementCounter;
+
     @BeforeEach
     void setUp() {
         employeeRepository.deleteAll();
+        statementCounter = new StatementCounter(entityManagerFactory);
     }
 
     @Test
@@ -49,6 +60,7 @@ public class EmployeeControllerIT {
                 .lastName("Sadeghbeigi")
                 .email("mohsen@gmail.com")
                 .build();
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc.perform(post(BASE_URI)
@@ -62,6 +74,7 @@ public class EmployeeControllerIT {
                 .andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employee.getLastName())))
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
+        statementCounter.assertAtMost(2, "POST /api/employees");
     }
 
     @Test
@@ -80,6 +93,7 @@ public class EmployeeControllerIT {
         List<Employee> employees = List.of(employee, employee2);
 
         employeeRepository.saveAll(employees);
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc.perform(get(BASE_URI));
@@ -88,6 +102,7 @@ public class EmployeeControllerIT {
         response.andExpect(status().isOk())
                 .andDo(print())
                 .andExpect(jsonPath("$.size()", is(employees.size())));
+        statementCounter.assertAtMost(1, "GET /api/employees");
     }
 
     @Test
@@ -100,6 +115,7 @@ public class EmployeeControllerIT {
                 .build();
 
         employeeRepository.save(employee);
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc.perform(get(BASE_URI + "/{id}", employee.getId()));
@@ -111,6 +127,7 @@ public class EmployeeControllerIT {
                 .andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employee.getLastName())))
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
+        statementCounter.assertAtMost(1, "GET /api/employees/{id}");
     }
 
     @Test
@@ -123,6 +140,7 @@ public class EmployeeControllerIT {
                 .build();
         Long employeeId = 0L;
         employeeRepository.save(employee);
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc.perform(get(BASE_URI + "/{id}", employeeId));
@@ -131,6 +149,7 @@ public class EmployeeControllerIT {
         response
                 .andExpect(status().isNotFound())
                 .andDo(print());
+        statementCounter.assertAtMost(1, "GET /api/employees/{id} for a missing id");
     }
 
     @Test
@@ -148,7 +167,7 @@ public class EmployeeControllerIT {
                 .lastName("Sadeghi")
                 .email("ali@gmail.com")
                 .build();
-
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc
@@ -164,6 +183,7 @@ public class EmployeeControllerIT {
                 .andExpect(jsonPath("$.firstName", is(updatedEmployee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(updatedEmployee.getLastName())))
                 .andExpect(jsonPath("$.email", is(updatedEmployee.getEmail())));
+        statementCounter.assertAtMost(2, "PUT /api/employees/{id}");
     }
 
     @Test
@@ -182,6 +202,7 @@ public class EmployeeControllerIT {
                 .lastName("Sadeghi")
                 .email("ali@gmail.com")
                 .build();
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc
@@ -194,6 +215,7 @@ public class EmployeeControllerIT {
         response
                 .andExpect(status().isNotFound())
                 .andDo(print());
+        statementCounter.assertAtMost(1, "PUT /api/employees/{id} for a missing id");
     }
 
     @Test
@@ -205,6 +227,7 @@ public class EmployeeControllerIT {
                 .email("mohsen@gmail.com")
                 .build();
         employeeRepository.save(savedEmployee);
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         ResultActions response = mockMvc
@@ -214,5 +237,58 @@ public class EmployeeControllerIT {
         response
                 .andExpect(status().isOk())
                 .andDo(print());
+        statementCounter.assertAtMost(1, "DELETE /api/employees/{id}");
+    }
+
+    @Test
+    public void givenEmployeeObject_whenSearchEmployeesTwice_thenServeSecondSearchFromSecondLevelCache() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        mockMvc.perform(get(BASE_URI + "/search")
+                .param("lastName", employee.getLastName())
+                .param("firstName", employee.getFirstName()));
+        statementCounter.reset();
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get(BASE_URI + "/search")
+                .param("lastName", employee.getLastName())
+                .param("firstName", employee.getFirstName()));
+
+        // then - verify the output
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content[0].email", is(employee.getEmail())));
+        statementCounter.assertAtMost(0, "GET /api/employees/search repeated");
+    }
+
+    @Test
+    public void givenEmployeesList_whenBulkImport_thenKeepImportedEmployeesOutOfSecondLevelCache() throws Exception {
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Mohsen").lastName("Sadeghbeigi").email("mohsen@gmail.com").build(),
+                Employee.builder().firstName("Ali").lastName("Sadeghi").email("ali@gmail.com").build());
+
+        // when - action and the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post(BASE_URI + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        // then - verify the output
+        response
+                .andExpect(status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.created", is(2)));
+        Cache cache = entityManagerFactory.getCache();
+        // the keyset page does not store what it reads into the cache either
+        assertThat(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(10)))
+                .extracting(Employee::getId)
+                .hasSize(2)
+                .noneMatch(id -> cache.contains(Employee.class, id));
     }
 }
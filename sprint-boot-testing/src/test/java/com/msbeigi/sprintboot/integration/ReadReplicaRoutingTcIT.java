@@ -0,0 +1,125 @@
+package com.msbeigi.sprintboot.integration;
+
+import com.msbeigi.sprintboot.config.ReadReplicaDataSource;
+import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.repository.EmployeeRepository;
+import com.msbeigi.sprintboot.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class ReadReplicaRoutingTcIT extends AbstractReplicaContainerBaseTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ReadReplicaDataSource readReplicaDataSource;
+
+    private final JdbcTemplate primaryJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            PRIMARY_CONTAINER.getJdbcUrl(), PRIMARY_CONTAINER.getUsername(), PRIMARY_CONTAINER.getPassword()));
+
+    private final JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword()));
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        replicaJdbcTemplate.update("delete from employees");
+        employee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+    }
+
+    @Test
+    public void givenEmployeeOnlyOnReplica_whenGetAllEmployees_thenReadFromReplica() {
+        // given - precondition or setup
+        replicaJdbcTemplate.update("insert into employees (id, first_name, last_name, email, version) values (?, ?, ?, ?, 0)",
+                1000L, "Ali", "Ahmadi", "ali@gmail.com");
+
+        // when - action and the behaviour that we are going to test
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        // then - verify the output
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("ali@gmail.com");
+    }
+
+    @Test
+    public void givenEmployeeDeletedOnPrimaryButNotYetOnReplica_whenGetEmployeeById_thenDoNotCacheReplicaRow() {
+        // given - precondition or setup
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        // the replica still has the row, as it would while it lags behind the delete
+        replicaJdbcTemplate.update("insert into employees (id, first_name, last_name, email, version) values (?, ?, ?, ?, 0)",
+                savedEmployee.getId(), savedEmployee.getFirstName(), savedEmployee.getLastName(), savedEmployee.getEmail());
+        employeeService.deleteEmployeeById(savedEmployee.getId());
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> deletedEmployee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // then - verify the output
+        assertThat(deletedEmployee).isEmpty();
+    }
+
+    @Test
+    public void givenEmployeeUpdatedOnPrimaryButNotYetOnReplica_whenGetEmployeeByIdAfterEviction_thenReturnNewVersion() {
+        // given - precondition or setup
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        replicaJdbcTemplate.update("insert into employees (id, first_name, last_name, email, version) values (?, ?, ?, ?, 0)",
+                savedEmployee.getId(), savedEmployee.getFirstName(), savedEmployee.getLastName(), savedEmployee.getEmail());
+        employeeService.updateEmployee(savedEmployee.getId(),
+                new Employee(null, "Ali", "Sadeghi", "ali@gmail.com", null));
+        // bulk-delete of another id evicts every cached employee
+        employeeService.deleteEmployeesByIds(List.of(savedEmployee.getId() + 1));
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> updatedEmployee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // then - verify the output
+        assertThat(updatedEmployee).get().extracting(Employee::getEmail).isEqualTo("ali@gmail.com");
+    }
+
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenWriteToPrimaryOnly() {
+        // given - precondition or setup
+
+        // when - action and the behaviour that we are going to test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        // then - verify the output
+        assertThat(primaryJdbcTemplate.queryForObject("select count(*) from employees where id = ?", Long.class,
+                savedEmployee.getId())).isEqualTo(1L);
+        assertThat(replicaJdbcTemplate.queryForObject("select count(*) from employees", Long.class)).isZero();
+    }
+
+    // the replica stays out of rotation until the next lag check, so the context is not reused
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void givenUnavailableReplica_whenGetAllEmployees_thenFallBackToPrimary() {
+        // given - precondition or setup
+        employeeService.saveEmployee(employee);
+        readReplicaDataSource.getReplicas().forEach(ReadReplicaDataSource.Replica::markUnavailable);
+
+        // when - action and the behaviour that we are going to test
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        // then - verify the output
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("mohsen@gmail.com");
+    }
+}
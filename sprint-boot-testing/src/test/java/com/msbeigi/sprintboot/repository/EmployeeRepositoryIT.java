@@ -1,16 +1,25 @@
 package com.msbeigi.sprintboot.repository;
 
 import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.support.StatementCounter;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -19,11 +28,19 @@ class EmployeeRepositoryIT {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statementCounter;
+
     private Employee employee;
 
     @BeforeEach
     void setUp() {
-        employeeRepository.deleteAll();
+        // one immediate DELETE: deleteAll() would only be flushed after the test inserts, and rows committed by the
+        // non-transactional tests would then clash with them
+        employeeRepository.deleteAllInBatch();
+        statementCounter = new StatementCounter(entityManagerFactory);
         employee = Employee.builder()
                 .firstName("Mohsen")
                 .lastName("Sadeghbeigi")
@@ -49,6 +66,24 @@ class EmployeeRepositoryIT {
         assertThat(savedEmployee.getId()).isGreaterThan(0);
     }
 
+    @Test
+    public void givenExistingEmailInOtherCase_whenSaveAndFlush_thenRejectDuplicate() {
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Employee duplicate = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("MOHSEN@gmail.com")
+                .build();
+
+        // when - action and the behaviour that we are gonna test
+        Throwable thrown = catchThrowable(() -> employeeRepository.saveAndFlush(duplicate));
+
+        // then - verify the output
+        assertThat(thrown).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(thrown.getMessage()).containsIgnoringCase("uk_employees_email_lower");
+    }
+
     @Test
     public void givenEmployeeList_whenFindAll_thenReturnEmployeeList() {
         // given - precondition or setup
@@ -66,11 +101,15 @@ class EmployeeRepositoryIT {
 
         employeeRepository.save(employee);
         employeeRepository.save(employee2);
+        // the inserts are only flushed on demand, keep them out of the count
+        employeeRepository.flush();
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         List<Employee> employeeList = employeeRepository.findAll();
 
         // then - verify the output
+        statementCounter.assertAtMost(1, "findAll");
         assertThat(employeeList).isNotNull();
         assertThat(employeeList.size()).isEqualTo(2);
     }
@@ -103,11 +142,14 @@ class EmployeeRepositoryIT {
                 .email("mohsen@gmail.com")
                 .build();*/
         employeeRepository.save(employee);
+        employeeRepository.flush();
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
         Employee foundEmployee = employeeRepository.findByEmailIgnoreCase(employee.getEmail()).orElseThrow();
 
         // then - verify the output
+        statementCounter.assertAtMost(1, "findByEmailIgnoreCase");
         assertThat(foundEmployee).isNotNull();
         assertThat(foundEmployee.getEmail()).isEqualTo(employee.getEmail());
     }
@@ -156,89 +198,138 @@ class EmployeeRepositoryIT {
     }
 
     @Test
-    public void givenEmployeeObject_whenSaveWithCustomQuery_thenReturnEmployee() {
+    public void givenEmployeeIds_whenRemoveByIdIn_thenDeleteOnlyExistingEmployees() {
         // given - precondition or setup
-        /*Employee employee1 = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
         employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        employeeRepository.flush();
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findFirstNameAndLastName(employee.getFirstName(), employee.getLastName());
+        int deleted = employeeRepository.removeByIdIn(List.of(employee.getId(), employee2.getId(), -1L));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        statementCounter.assertAtMost(1, "removeByIdIn");
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.findById(employee2.getId())).isEmpty();
     }
 
+    // committed writes: rows inserted by a still open transaction are not put into the second-level cache
     @Test
-    public void givenEmployeeObject_whenSaveWithCustomQueryNameParams_thenReturnEmployee() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenTwoCachedEmployees_whenUpdateNameAndEmail_thenEvictOnlyTheUpdatedOne() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
-        employeeRepository.save(employee);
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+        employeeRepository.findAllById(List.of(employee.getId(), employee2.getId()));
+        Cache cache = entityManagerFactory.getCache();
+        assertThat(cache.contains(Employee.class, employee2.getId())).isTrue();
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findFirstNameAndLastNameNamedParams(employee.getFirstName(),
-                        employee.getLastName());
+        int updated = employeeRepository.updateNameAndEmail(employee.getId(), "Moh", "Sadeghbeigi", "moh@gmail.com");
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(updated).isEqualTo(1);
+        assertThat(cache.contains(Employee.class, employee.getId())).isFalse();
+        assertThat(cache.contains(Employee.class, employee2.getId())).isTrue();
+        assertThat(employeeRepository.findById(employee.getId())).get()
+                .extracting(Employee::getEmail).isEqualTo("moh@gmail.com");
     }
 
     @Test
-    public void givenEmployeeObject_whenFindByFirstNameAndLastNameByNativeQuery_thenReturnEmployee() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCommittedEmployees_whenFindByIdGreaterThan_thenDoNotCacheScannedEmployees() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
-        employeeRepository.save(employee);
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Employee.class);
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findByFirstNameAndLastNameWithNativeQuery(employee.getFirstName(),
-                        employee.getLastName());
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(10));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(page).hasSize(2);
+        assertThat(cache.contains(Employee.class, employee.getId())).isFalse();
+        assertThat(cache.contains(Employee.class, employee2.getId())).isFalse();
     }
 
     @Test
-    public void givenEmployeeObject_whenFindByFirstNameAndLastNameByNativeQueryAndNameParams_thenReturnEmployee() {
+    public void givenEmployeesWithSameName_whenFindByLastNameAndFirstName_thenReturnAllMatches() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
+        Employee namesake = Employee.builder()
                 .firstName("Mohsen")
                 .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
-        employeeRepository.save(employee);
+                .email("mohsen2@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, namesake));
+        employeeRepository.flush();
+        statementCounter.reset();
+
+        // when - action and the behaviour that we are going to test
+        Slice<Employee> employees = employeeRepository.findByLastNameAndFirstNameOrderByIdAsc(employee.getLastName(),
+                employee.getFirstName(), PageRequest.of(0, 10));
+
+        // then - verify the output
+        statementCounter.assertAtMost(1, "findByLastNameAndFirstNameOrderByIdAsc");
+        assertThat(employees.getContent()).hasSize(2);
+        assertThat(employees.getContent()).extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("mohsen@gmail.com", "mohsen2@gmail.com");
+        assertThat(employees.hasNext()).isFalse();
+    }
+
+    @Test
+    public void givenNonAsciiName_whenSearchByNamePrefix_thenMatchCaseInsensitively() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Émile")
+                .lastName("Ébert")
+                .email("emile@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+
+        // when - action and the behaviour that we are going to test
+        Slice<Employee> employees = employeeRepository.searchByNamePrefix("éB", "É", PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(employees.getContent()).extracting(Employee::getEmail).containsExactly("emile@gmail.com");
+    }
+
+    @Test
+    public void givenEmployeeObject_whenSearchByNamePrefix_thenReturnCaseInsensitiveMatches() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+        employeeRepository.flush();
+        statementCounter.reset();
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findByFirstNameAndLastNameWithNativeQueryAndNameParams(employee.getFirstName(),
-                        employee.getLastName());
+        Slice<Employee> employees = employeeRepository.searchByNamePrefix("sadegh", "MOH",
+                PageRequest.of(0, 10));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        statementCounter.assertAtMost(1, "searchByNamePrefix");
+        assertThat(employees.getContent()).hasSize(1);
+        assertThat(employees.getContent().get(0).getEmail()).isEqualTo("mohsen@gmail.com");
+        assertThat(employees.getContent().get(0).getFirstName()).isEqualTo("Mohsen");
+        assertThat(employees.getContent().get(0).getLastName()).isEqualTo("Sadeghbeigi");
     }
 }
\ No newline at end of file
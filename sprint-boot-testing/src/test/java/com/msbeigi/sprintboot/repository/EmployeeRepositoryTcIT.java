@@ -7,7 +7,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.Slice;
 
+import javax.sql.DataSource;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,9 @@ class EmployeeRepositoryTcIT extends AbstractContainerBestTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private DataSource dataSource;
+
     private Employee employee;
 
     @BeforeEach
@@ -157,89 +164,111 @@ class EmployeeRepositoryTcIT extends AbstractContainerBestTest {
     }
 
     @Test
-    public void givenEmployeeObject_whenSaveWithCustomQuery_thenReturnEmployee() {
+    public void givenEmployeeIds_whenRemoveByIdIn_thenDeleteOnlyExistingEmployees() {
         // given - precondition or setup
-        /*Employee employee1 = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
         employeeRepository.save(employee);
+        employeeRepository.save(employee2);
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findFirstNameAndLastName(employee.getFirstName(), employee.getLastName());
+        int deleted = employeeRepository.removeByIdIn(List.of(employee.getId(), employee2.getId(), -1L));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.findById(employee2.getId())).isEmpty();
     }
 
     @Test
-    public void givenEmployeeObject_whenSaveWithCustomQueryNameParams_thenReturnEmployee() {
+    public void givenEmployeesWithSameName_whenFindByLastNameAndFirstName_thenReturnAllMatches() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
+        Employee namesake = Employee.builder()
                 .firstName("Mohsen")
                 .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
-        employeeRepository.save(employee);
+                .email("mohsen2@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, namesake));
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findFirstNameAndLastNameNamedParams(employee.getFirstName(),
-                        employee.getLastName());
+        Slice<Employee> employees = employeeRepository.findByLastNameAndFirstNameOrderByIdAsc(employee.getLastName(),
+                employee.getFirstName(), PageRequest.of(0, 10));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(employees.getContent()).hasSize(2);
+        assertThat(employees.getContent()).extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("mohsen@gmail.com", "mohsen2@gmail.com");
+        assertThat(employees.hasNext()).isFalse();
     }
 
     @Test
-    public void givenEmployeeObject_whenFindByFirstNameAndLastNameByNativeQuery_thenReturnEmployee() {
+    public void givenEmployeeObject_whenSearchByNamePrefix_thenReturnCaseInsensitiveMatches() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
-        employeeRepository.save(employee);
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findByFirstNameAndLastNameWithNativeQuery(employee.getFirstName(),
-                        employee.getLastName());
+        Slice<Employee> employees = employeeRepository.searchByNamePrefix("sadegh", "MOH",
+                PageRequest.of(0, 10));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(employees.getContent()).hasSize(1);
+        assertThat(employees.getContent().get(0).getEmail()).isEqualTo("mohsen@gmail.com");
+        assertThat(employees.getContent().get(0).getFirstName()).isEqualTo("Mohsen");
+        assertThat(employees.getContent().get(0).getLastName()).isEqualTo("Sadeghbeigi");
     }
 
     @Test
-    public void givenEmployeeObject_whenFindByFirstNameAndLastNameByNativeQueryAndNameParams_thenReturnEmployee() {
+    public void givenNonAsciiName_whenSearchByNamePrefix_thenMatchCaseInsensitively() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
-        employeeRepository.save(employee);
+        Employee employee2 = Employee.builder()
+                .firstName("Émile")
+                .lastName("Ébert")
+                .email("emile@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+
+        // when - action and the behaviour that we are going to test
+        Slice<Employee> employees = employeeRepository.searchByNamePrefix("éB", "É", PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(employees.getContent()).extracting(Employee::getEmail).containsExactly("emile@gmail.com");
+    }
+
+    @Test
+    public void givenGenericPlan_whenSearchByNamePrefix_thenIndexFiltersAndOrders() {
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // what pgjdbc ends up with after prepareThreshold executions; seq scans off so only a usable index can win
+        jdbcTemplate.execute("set local plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        jdbcTemplate.execute("prepare prefix_search(text, text, text) as select id from employees " +
+                "where lower(last_name) collate \"C\" >= lower($1) collate \"C\" " +
+                "and lower(last_name) collate \"C\" < (lower($1) collate \"C\") || $3 " +
+                "and lower(first_name) collate \"C\" >= lower($2) collate \"C\" " +
+                "and lower(first_name) collate \"C\" < (lower($2) collate \"C\") || $3 " +
+                "order by lower(last_name) collate \"C\", lower(first_name) collate \"C\", id limit 11");
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findByFirstNameAndLastNameWithNativeQueryAndNameParams(employee.getFirstName(),
-                        employee.getLastName());
+        List<String> plan;
+        try {
+            plan = jdbcTemplate.queryForList("explain execute prefix_search(?, ?, ?)", String.class,
+                    "sadegh", "MOH", EmployeeRepository.PREFIX_UPPER_BOUND);
+        } finally {
+            jdbcTemplate.execute("deallocate prefix_search");
+        }
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(String.join("\n", plan))
+                .contains("ix_employees_lower_last_first_id")
+                .doesNotContain("Sort");
     }
-}
\ No newline at end of file
+}
@@ -5,9 +5,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -153,89 +157,180 @@ class EmployeeRepositoryTest {
     }
 
     @Test
-    public void givenEmployeeObject_whenSaveWithCustomQuery_thenReturnEmployee() {
+    public void givenMissingEmployeeId_whenRemoveById_thenReturnZero() {
         // given - precondition or setup
-        /*Employee employee1 = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
         employeeRepository.save(employee);
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findFirstNameAndLastName(employee.getFirstName(), employee.getLastName());
+        int deleted = employeeRepository.removeById(-1L);
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(deleted).isZero();
+        assertThat(employeeRepository.findById(employee.getId())).isNotEmpty();
     }
 
     @Test
-    public void givenEmployeeObject_whenSaveWithCustomQueryNameParams_thenReturnEmployee() {
+    public void givenEmployeeIds_whenRemoveByIdIn_thenDeleteOnlyExistingEmployees() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
+        Employee employee2 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Ahmadi")
+                .email("ali@gmail.com")
+                .build();
         employeeRepository.save(employee);
+        employeeRepository.save(employee2);
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findFirstNameAndLastNameNamedParams(employee.getFirstName(),
-                        employee.getLastName());
+        int deleted = employeeRepository.removeByIdIn(List.of(employee.getId(), employee2.getId(), -1L));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.findById(employee2.getId())).isEmpty();
     }
 
     @Test
-    public void givenEmployeeObject_whenFindByFirstNameAndLastNameByNativeQuery_thenReturnEmployee() {
+    public void givenEmployeesWithSameName_whenFindByLastNameAndFirstName_thenReturnAllMatches() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
+        Employee namesake = Employee.builder()
                 .firstName("Mohsen")
                 .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
+                .email("mohsen2@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, namesake));
+
+        // when - action and the behaviour that we are going to test
+        Slice<Employee> employees = employeeRepository.findByLastNameAndFirstNameOrderByIdAsc(employee.getLastName(),
+                employee.getFirstName(), PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(employees.getContent()).hasSize(2);
+        assertThat(employees.getContent()).extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("mohsen@gmail.com", "mohsen2@gmail.com");
+        assertThat(employees.hasNext()).isFalse();
+    }
+
+    @Test
+    public void givenEmployeeObject_whenSearchByNamePrefix_thenReturnCaseInsensitiveMatches() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+
+        // when - action and the behaviour that we are going to test
+        Slice<Employee> employees = employeeRepository.searchByNamePrefix("sadegh", "MOH",
+                PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(employees.getContent()).hasSize(1);
+        assertThat(employees.getContent().get(0).getEmail()).isEqualTo("mohsen@gmail.com");
+        assertThat(employees.getContent().get(0).getFirstName()).isEqualTo("Mohsen");
+        assertThat(employees.getContent().get(0).getLastName()).isEqualTo("Sadeghbeigi");
+    }
+
+    @Test
+    public void givenEmployeeList_whenFindByIdGreaterThan_thenReturnNextKeysetPage() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        Employee employee3 = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2, employee3));
+
+        // when - action and the behaviour that we are going to test
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(),
+                PageRequest.of(0, 1));
+
+        // then - verify the output
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
+    @Test
+    public void givenEmployeeList_whenStreamAllOrderById_thenReturnEmployeesInIdOrder() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+
+        // when - action and the behaviour that we are going to test
+        List<Long> ids;
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderById()) {
+            ids = employees.map(Employee::getId).toList();
+        }
+
+        // then - verify the output
+        assertThat(ids).containsExactly(employee.getId(), employee2.getId());
+    }
+
+    @Test
+    public void givenEmployeeObject_whenFindExistingEmails_thenReturnOnlyStoredEmails() {
+        // given - precondition or setup
         employeeRepository.save(employee);
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findByFirstNameAndLastNameWithNativeQuery(employee.getFirstName(),
-                        employee.getLastName());
+        Set<String> existingEmails = employeeRepository.findExistingEmails(
+                List.of("mohsen@gmail.com", "john@gmail.com"));
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(existingEmails).containsExactly("mohsen@gmail.com");
     }
 
     @Test
-    public void givenEmployeeObject_whenFindByFirstNameAndLastNameByNativeQueryAndNameParams_thenReturnEmployee() {
+    public void givenEmployeeObject_whenFindByEmailWithDifferentCase_thenReturnEmployeeObject() {
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> foundEmployee = employeeRepository.findByEmailIgnoreCase("MOHSEN@Gmail.com");
+
+        // then - verify the output
+        assertThat(foundEmployee).isNotEmpty();
+        assertThat(foundEmployee.get().getId()).isEqualTo(employee.getId());
+    }
+
+    @Test
+    public void givenEmployeeObject_whenUpdateNameAndEmail_thenReturnAffectedRowCount() {
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action and the behaviour that we are going to test
+        int updatedRows = employeeRepository.updateNameAndEmail(employee.getId(), "Ali", "Sadeghi", "ali@gmail.com");
+        int missingRows = employeeRepository.updateNameAndEmail(0L, "Ali", "Sadeghi", "ali@gmail.com");
+
+        // then - verify the output
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(missingRows).isEqualTo(0);
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getEmail()).isEqualTo("ali@gmail.com");
+    }
+
+    @Test
+    public void givenEmployeeObject_whenUpdateNameAndEmailIfVersion_thenOnlyMatchingVersionIsUpdated() {
         // given - precondition or setup
-        /*Employee employee = Employee.builder()
-                .firstName("Mohsen")
-                .lastName("Sadeghbeigi")
-                .email("mohsen@gmail.com")
-                .build();*/
         employeeRepository.save(employee);
+        Long version = employee.getVersion();
 
         // when - action and the behaviour that we are going to test
-        Optional<Employee> savedEmployee =
-                employeeRepository.findByFirstNameAndLastNameWithNativeQueryAndNameParams(employee.getFirstName(),
-                        employee.getLastName());
+        int staleRows = employeeRepository.updateNameAndEmailIfVersion(employee.getId(), version + 1,
+                "Ali", "Sadeghi", "ali@gmail.com");
+        int updatedRows = employeeRepository.updateNameAndEmailIfVersion(employee.getId(), version,
+                "Ali", "Sadeghi", "ali@gmail.com");
 
         // then - verify the output
-        assertThat(savedEmployee).isNotEmpty();
-        assertThat(savedEmployee.get().getEmail()).isEqualTo("mohsen@gmail.com");
-        assertThat(savedEmployee.get().getFirstName()).isEqualTo("Mohsen");
-        assertThat(savedEmployee.get().getLastName()).isEqualTo("Sadeghbeigi");
+        assertThat(staleRows).isEqualTo(0);
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(version + 1);
     }
-}
\ No newline at end of file
+}
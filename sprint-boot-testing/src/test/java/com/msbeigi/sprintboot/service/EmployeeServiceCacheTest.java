@@ -0,0 +1,121 @@
+package com.msbeigi.sprintboot.service;
+
+import com.msbeigi.sprintboot.config.CachingConfig;
+import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.repository.EmployeeRepository;
+import com.msbeigi.sprintboot.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {EmployeeServiceImpl.class, CachingConfig.class},
+        properties = {"spring.cache.type=caffeine", "spring.cache.cache-names=employees",
+                "spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=1m",
+                "employee.batch-lookup.window=0ms"})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class EmployeeServiceCacheTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE).clear();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+    }
+
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdTwice_thenHitDatabaseOnce() {
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> first = employeeService.getEmployeeById(1L);
+        Optional<Employee> second = employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        assertThat(first).containsSame(employee);
+        assertThat(second).containsSame(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void givenMissingEmployeeId_whenGetEmployeeById_thenDoNotCacheMiss() {
+        // given - precondition or setup
+        given(employeeRepository.findById(2L)).willReturn(Optional.empty());
+
+        // when - action and the behaviour that we are going to test
+        employeeService.getEmployeeById(2L);
+        employeeService.getEmployeeById(2L);
+
+        // then - verify the output
+        verify(employeeRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenRefreshCacheEntry() {
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .id(1L)
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.updateNameAndEmail(1L, "Ali", "Sadeghi", "ali@gmail.com")).willReturn(1);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(1L));
+        employeeService.getEmployeeById(1L);
+
+        // when - action and the behaviour that we are going to test
+        employeeService.updateEmployee(1L, updatedEmployee);
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        assertThat(cachedEmployee).isNotEmpty();
+        assertThat(cachedEmployee.get().getEmail()).isEqualTo(updatedEmployee.getEmail());
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployeeById_thenEvictCacheEntry() {
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+
+        // when - action and the behaviour that we are going to test
+        employeeService.deleteEmployeeById(1L);
+        employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+}
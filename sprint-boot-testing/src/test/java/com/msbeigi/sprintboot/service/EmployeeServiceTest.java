@@ -1,24 +1,40 @@
 package com.msbeigi.sprintboot.service;
 
+import com.msbeigi.sprintboot.dto.BulkImportResult;
+import com.msbeigi.sprintboot.dto.EmployeePage;
 import com.msbeigi.sprintboot.entity.Employee;
+import com.msbeigi.sprintboot.exception.DuplicateEmailException;
 import com.msbeigi.sprintboot.exception.ResourceNotFoundException;
 import com.msbeigi.sprintboot.repository.EmployeeRepository;
 import com.msbeigi.sprintboot.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,7 +43,9 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
     private EmployeeServiceImpl employeeService;
 
     private Employee employee = new Employee();
@@ -36,6 +54,7 @@ class EmployeeServiceTest {
     void setUp() {
         // employeeRepository = Mockito.mock(EmployeeRepository.class);
         // employeeService = new EmployeeServiceImpl(employeeRepository);
+        employeeService = new EmployeeServiceImpl(employeeRepository, entityManager, Duration.ZERO, 100);
         Employee employee = Employee.builder()
                 .id(1L)
                 .firstName("Mohsen")
@@ -47,9 +66,7 @@ class EmployeeServiceTest {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         // given - precondition or setup
-        given(employeeRepository.findByEmailIgnoreCase(employee.getEmail()))
-                .willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         System.out.println(employeeRepository);
         System.out.println(employeeService);
@@ -65,8 +82,9 @@ class EmployeeServiceTest {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenShouldReturnErrorSinceEmployeeAlreadyInDb() {
         // given - precondition or setup
-        given(employeeRepository.findByEmailIgnoreCase(employee.getEmail()))
-                .willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key", null, "uk_employees_email_lower")));
 
         // when - action and the behaviour that we are going to test
         Assertions.assertThrows(ResourceNotFoundException.class, () -> {
@@ -74,7 +92,111 @@ class EmployeeServiceTest {
         });
 
         // then
-        verify(employeeRepository, never()).save(employee);
+        verify(employeeRepository, never()).findByEmailIgnoreCase(employee.getEmail());
+    }
+
+    @Test
+    public void givenEmployeeObject_whenSaveEmployeeViolatesOtherConstraint_thenRethrowOriginalError() {
+        // given - precondition or setup
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("null value",
+                new ConstraintViolationException("null value", null, "employees_first_name_not_null"));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(violation);
+
+        // when - action and the behaviour that we are going to test
+        DataIntegrityViolationException thrown = Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> employeeService.saveEmployee(employee));
+
+        // then
+        assertThat(thrown).isSameAs(violation);
+    }
+
+    @Test
+    public void givenEmployeesWithDuplicateEmails_whenSaveEmployees_thenSaveOnlyNewEmployees() {
+        // given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+        Employee sameEmailInRequest = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ALI@gmail.com")
+                .build();
+        Employee existingEmployee = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .email("Mohsen@gmail.com")
+                .build();
+        given(employeeRepository.findExistingEmails(Set.of("ali@gmail.com", "mohsen@gmail.com")))
+                .willReturn(Set.of("mohsen@gmail.com"));
+
+        // when - action and the behaviour that we are going to test
+        BulkImportResult result = employeeService.saveEmployees(
+                List.of(newEmployee, sameEmailInRequest, existingEmployee));
+
+        // then - verify the output
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicateEmails()).containsExactly("ALI@gmail.com", "Mohsen@gmail.com");
+        verify(employeeRepository, times(1)).saveAll(List.of(newEmployee));
+    }
+
+    @Test
+    public void givenEmployeesWithoutEmail_whenSaveEmployees_thenRejectThemBeforeWriting() {
+        // given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+        Employee withoutEmail = Employee.builder()
+                .firstName("Mohsen")
+                .lastName("Sadeghbeigi")
+                .build();
+        Employee blankEmail = Employee.builder()
+                .firstName("Reza")
+                .lastName("Sadeghi")
+                .email(" ")
+                .build();
+        given(employeeRepository.findExistingEmails(Set.of("ali@gmail.com"))).willReturn(Set.of());
+
+        // when - action and the behaviour that we are going to test
+        BulkImportResult result = employeeService.saveEmployees(List.of(newEmployee, withoutEmail, blankEmail));
+
+        // then - verify the output
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(2);
+        verify(employeeRepository, times(1)).saveAll(List.of(newEmployee));
+    }
+
+    @Test
+    public void givenEmployeesWithoutName_whenSaveEmployees_thenRejectThemBeforeWriting() {
+        // given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+        Employee withoutFirstName = Employee.builder()
+                .lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com")
+                .build();
+        Employee blankLastName = Employee.builder()
+                .firstName("Reza")
+                .lastName("")
+                .email("reza@gmail.com")
+                .build();
+        given(employeeRepository.findExistingEmails(Set.of("ali@gmail.com"))).willReturn(Set.of());
+
+        // when - action and the behaviour that we are going to test
+        BulkImportResult result = employeeService.saveEmployees(List.of(newEmployee, withoutFirstName, blankLastName));
+
+        // then - verify the output
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(2);
+        verify(employeeRepository, times(1)).saveAll(List.of(newEmployee));
     }
 
     @Test
@@ -109,6 +231,96 @@ class EmployeeServiceTest {
         assertThat(employees.size()).isEqualTo(0);
     }
 
+    @Test
+    public void givenMoreEmployeesThanPageSize_whenGetEmployeesPage_thenReturnPageWithNextCursor() {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().id(1L).firstName("Mohsen").lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com").build();
+        Employee employee2 = Employee.builder().id(2L).firstName("Ali").lastName("Sadeghi")
+                .email("ali@gmail.com").build();
+        Employee employee3 = Employee.builder().id(3L).firstName("John").lastName("Doe")
+                .email("john@gmail.com").build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .willReturn(List.of(employee1, employee2, employee3));
+
+        // when - action and the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesPage(null, 2);
+
+        // then - verify the output
+        assertThat(page.getContent()).containsExactly(employee1, employee2);
+        assertThat(page.getNextCursor()).isEqualTo(2L);
+        assertThat(page.isHasNext()).isTrue();
+    }
+
+    @Test
+    public void givenLastPage_whenGetEmployeesPage_thenReturnPageWithoutNext() {
+        // given - precondition or setup
+        Employee employee3 = Employee.builder().id(3L).firstName("John").lastName("Doe")
+                .email("john@gmail.com").build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3)))
+                .willReturn(List.of(employee3));
+
+        // when - action and the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesPage(2L, 2);
+
+        // then - verify the output
+        assertThat(page.getContent()).containsExactly(employee3);
+        assertThat(page.getNextCursor()).isEqualTo(3L);
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    public void givenEmployeesStream_whenStreamAllEmployees_thenConsumeAndDetachEachEmployee() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("Ali")
+                .lastName("Sadeghi")
+                .email("ali@gmail.com")
+                .build();
+        given(employeeRepository.streamAllOrderById()).willReturn(Stream.of(employee, employee2));
+        List<Employee> consumed = new ArrayList<>();
+
+        // when - action and the behaviour that we are going to test
+        employeeService.streamAllEmployees(consumed::add);
+
+        // then - verify the output
+        assertThat(consumed).containsExactly(employee, employee2);
+        verify(entityManager).detach(employee);
+        verify(entityManager).detach(employee2);
+    }
+
+    @Test
+    public void givenExactName_whenSearchEmployeesByName_thenUseCompositeIndexQuery() {
+        // given - precondition or setup
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        given(employeeRepository.findByLastNameAndFirstNameOrderByIdAsc("Sadeghbeigi", "Mohsen", pageRequest))
+                .willReturn(new SliceImpl<>(List.of(employee)));
+
+        // when - action and the behaviour that we are going to test
+        List<Employee> employees = employeeService
+                .searchEmployeesByName("Sadeghbeigi", "Mohsen", false, pageRequest).getContent();
+
+        // then - verify the output
+        assertThat(employees).containsExactly(employee);
+        verify(employeeRepository, never()).searchByNamePrefix(any(), any(), any());
+    }
+
+    @Test
+    public void givenPrefixWithWildcards_whenSearchEmployeesByName_thenMatchPrefixLiterally() {
+        // given - precondition or setup
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        given(employeeRepository.searchByNamePrefix("sa_d%", "", pageRequest))
+                .willReturn(new SliceImpl<>(List.of(employee)));
+
+        // when - action and the behaviour that we are going to test
+        List<Employee> employees = employeeService
+                .searchEmployeesByName("sa_d%", null, true, pageRequest).getContent();
+
+        // then - verify the output
+        assertThat(employees).containsExactly(employee);
+    }
+
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
         // given - precondition or setup
@@ -122,32 +334,256 @@ class EmployeeServiceTest {
         assertThat(savedEmployee.getId()).isEqualTo(employee.getId());
     }
 
+    @Test
+    public void givenConcurrentLookupsOfSameId_whenGetEmployeeById_thenQueryDatabaseOnce() throws Exception {
+        // given - precondition or setup
+        employee.setId(1L);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findById(employee.getId())).willAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when - action and the behaviour that we are going to test
+        List<Future<Optional<Employee>>> lookups = new ArrayList<>();
+        lookups.add(executor.submit(() -> employeeService.getEmployeeById(employee.getId())));
+        queryStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            lookups.add(executor.submit(() -> employeeService.getEmployeeById(employee.getId())));
+        }
+        // give the followers time to join the query in flight
+        Thread.sleep(200);
+        releaseQuery.countDown();
+
+        // then - verify the output
+        for (Future<Optional<Employee>> lookup : lookups) {
+            assertThat(lookup.get(5, TimeUnit.SECONDS)).contains(employee);
+        }
+        executor.shutdown();
+        verify(employeeRepository, times(1)).findById(employee.getId());
+    }
+
+    @Test
+    public void givenLookupsOfDifferentIdsWithinWindow_whenGetEmployeeById_thenQueryDatabaseOnce() throws Exception {
+        // given - precondition or setup
+        EmployeeServiceImpl batchingEmployeeService =
+                new EmployeeServiceImpl(employeeRepository, entityManager, Duration.ofMillis(200), 100);
+        Employee employee1 = Employee.builder().id(1L).firstName("Mohsen").lastName("Sadeghbeigi")
+                .email("mohsen@gmail.com").build();
+        Employee employee2 = Employee.builder().id(2L).firstName("Ali").lastName("Sadeghi")
+                .email("ali@gmail.com").build();
+        given(employeeRepository.findAllById(anyCollection())).willReturn(List.of(employee1, employee2));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // when - action and the behaviour that we are going to test
+        Future<Optional<Employee>> lookup1 = executor.submit(() -> batchingEmployeeService.getEmployeeById(1L));
+        Future<Optional<Employee>> lookup2 = executor.submit(() -> batchingEmployeeService.getEmployeeById(2L));
+        Future<Optional<Employee>> lookup3 = executor.submit(() -> batchingEmployeeService.getEmployeeById(3L));
+
+        // then - verify the output
+        assertThat(lookup1.get(5, TimeUnit.SECONDS)).contains(employee1);
+        assertThat(lookup2.get(5, TimeUnit.SECONDS)).contains(employee2);
+        assertThat(lookup3.get(5, TimeUnit.SECONDS)).isEmpty();
+        executor.shutdown();
+        verify(employeeRepository, times(1)).findAllById(Set.of(1L, 2L, 3L));
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void givenLookupOfSameIdWhileBatchQueryRuns_whenGetEmployeeById_thenJoinThatQuery() throws Exception {
+        // given - precondition or setup
+        EmployeeServiceImpl batchingEmployeeService =
+                new EmployeeServiceImpl(employeeRepository, entityManager, Duration.ofMillis(20), 100);
+        employee.setId(1L);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findAllById(anyCollection())).willAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return List.of(employee);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when - action and the behaviour that we are going to test
+        List<Future<Optional<Employee>>> lookups = new ArrayList<>();
+        lookups.add(executor.submit(() -> batchingEmployeeService.getEmployeeById(employee.getId())));
+        queryStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            lookups.add(executor.submit(() -> batchingEmployeeService.getEmployeeById(employee.getId())));
+        }
+        // longer than the window, a lookup that is not coalesced would have dispatched its own batch by now
+        Thread.sleep(200);
+        releaseQuery.countDown();
+
+        // then - verify the output
+        for (Future<Optional<Employee>> lookup : lookups) {
+            assertThat(lookup.get(5, TimeUnit.SECONDS)).contains(employee);
+        }
+        executor.shutdown();
+        verify(employeeRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesFromOneQuery() {
+        // given - precondition or setup
+        employee.setId(1L);
+        given(employeeRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(employee));
+
+        // when - action and the behaviour that we are going to test
+        List<Employee> employees = employeeService.getEmployeesByIds(List.of(1L, 2L));
+
+        // then - verify the output
+        assertThat(employees).containsExactly(employee);
+        verify(employeeRepository, times(1)).findAllById(List.of(1L, 2L));
+    }
+
     @Test
     public void givenEmployeeObject_whenUpdateEmployeeWithNewEmployee_thenReturnUpdatedEmployee() {
         // given - precondition or setup
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.updateNameAndEmail(1L, "Moh", "Sadeghbeigi", "moh@gmailcom")).willReturn(1);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(1L));
 
         employee.setEmail("moh@gmailcom");
         employee.setFirstName("Moh");
+        employee.setLastName("Sadeghbeigi");
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, employee);
+
+        // then - verify the output
+        assertThat(updatedEmployee).isNotEmpty();
+        assertThat(updatedEmployee.get().getId()).isEqualTo(1L);
+        assertThat(updatedEmployee.get().getEmail()).isEqualTo("moh@gmailcom");
+        assertThat(updatedEmployee.get().getFirstName()).isEqualTo("Moh");
+        assertThat(updatedEmployee.get().getVersion()).isEqualTo(1L);
+        verify(employeeRepository, never()).findById(any());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenCurrentVersion_whenUpdateEmployee_thenReturnIncrementedVersion() {
+        // given - precondition or setup
+        employee.setFirstName("Moh");
+        employee.setLastName("Sadeghbeigi");
+        employee.setEmail("moh@gmail.com");
+        employee.setVersion(3L);
+        given(employeeRepository.updateNameAndEmailIfVersion(1L, 3L, "Moh", "Sadeghbeigi", "moh@gmail.com"))
+                .willReturn(1);
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, employee);
+
+        // then - verify the output
+        assertThat(updatedEmployee).isNotEmpty();
+        assertThat(updatedEmployee.get().getVersion()).isEqualTo(4L);
+        verify(employeeRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsOptimisticLockingFailure() {
+        // given - precondition or setup
+        employee.setVersion(2L);
+        given(employeeRepository.updateNameAndEmailIfVersion(1L, 2L, employee.getFirstName(),
+                employee.getLastName(), employee.getEmail())).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+
+        // when - action and the behaviour that we are going to test
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.updateEmployee(1L, employee);
+        });
+    }
+
+    @Test
+    public void givenStaleVersion_whenDeleteEmployeeByIdAndVersion_thenThrowsOptimisticLockingFailure() {
+        // given - precondition or setup
+        given(employeeRepository.deleteByIdAndVersion(1L, 2L)).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+
+        // when - action and the behaviour that we are going to test
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.deleteEmployeeByIdAndVersion(1L, 2L);
+        });
+    }
+
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployeeByIdAndVersion_thenReturnFalse() {
+        // given - precondition or setup
+        given(employeeRepository.deleteByIdAndVersion(0L, 2L)).willReturn(0);
+        given(employeeRepository.existsById(0L)).willReturn(false);
+
+        // when - action and the behaviour that we are going to test
+        boolean deleted = employeeService.deleteEmployeeByIdAndVersion(0L, 2L);
+
+        // then - verify the output
+        assertThat(deleted).isFalse();
+    }
+
+    @Test
+    public void givenMissingEmployeeId_whenUpdateEmployee_thenReturnEmpty() {
+        // given - precondition or setup
+        given(employeeRepository.updateNameAndEmail(0L, employee.getFirstName(), employee.getLastName(),
+                employee.getEmail())).willReturn(0);
+
+        // when - action and the behaviour that we are going to test
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(0L, employee);
+
+        // then - verify the output
+        assertThat(updatedEmployee).isEmpty();
+    }
+
+    @Test
+    public void givenTakenEmail_whenUpdateEmployee_thenThrowsError() {
+        // given - precondition or setup
+        given(employeeRepository.updateNameAndEmail(1L, employee.getFirstName(), employee.getLastName(),
+                employee.getEmail()))
+                .willThrow(new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key", null, "uk_employees_email_lower")));
+
+        // when - action and the behaviour that we are going to test
+        Assertions.assertThrows(DuplicateEmailException.class, () -> {
+            employeeService.updateEmployee(1L, employee);
+        });
+    }
+
+    @Test
+    public void givenEmployeeObjectId_whenDeleteEmployeeById_thenReturnTrue() {
+        // given - precondition or setup
+        given(employeeRepository.removeById(employee.getId())).willReturn(1);
+
+        // when - action and the behaviour that we are going to test
+        boolean deleted = employeeService.deleteEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(deleted).isTrue();
+        verify(employeeRepository, never()).findById(employee.getId());
+    }
+
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployeeById_thenReturnFalse() {
+        // given - precondition or setup
+        given(employeeRepository.removeById(0L)).willReturn(0);
 
         // when - action and the behaviour that we are going to test
-        employeeService.updateEmployee(employee);
+        boolean deleted = employeeService.deleteEmployeeById(0L);
 
         // then - verify the output
-        assertThat(employee).isNotNull();
-        assertThat(employee.getEmail()).isEqualTo("moh@gmailcom");
-        assertThat(employee.getFirstName()).isEqualTo("Moh");
+        assertThat(deleted).isFalse();
     }
 
     @Test
-    public void givenEmployeeObjectId_whenDeleteEmployeeById_thenReturnsNothing() {
+    public void givenEmployeeIds_whenDeleteEmployeesByIds_thenReturnDeletedCount() {
         // given - precondition or setup
-        willDoNothing().given(employeeRepository).deleteById(employee.getId());
+        List<Long> ids = List.of(1L, 2L, 3L);
+        given(employeeRepository.removeByIdIn(ids)).willReturn(2);
 
         // when - action and the behaviour that we are going to test
-        employeeService.deleteEmployeeById(employee.getId());
+        int deleted = employeeService.deleteEmployeesByIds(ids);
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employee.getId());
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeRepository, times(1)).removeByIdIn(ids);
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.msbeigi.sprintboot.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements Hibernate prepares so tests can pin a query budget on an operation, e.g.
+ * {@code POST /api/employees issues at most 2 statements}. A batched insert is one statement however many
+ * rows it carries. Relies on {@code hibernate.generate_statistics}, which application.yaml turns on for the
+ * hibernate.* metrics.
+ */
+public class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // start counting from here, typically right after the test data has been set up
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long count() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertAtMost(long budget, String operation) {
+        assertThat(count())
+                .as("%s issued more statements than its budget of %d (queries: %s, entity loads: %d, inserts: %d, "
+                                + "updates: %d, deletes: %d)", operation, budget, String.join(", ", statistics.getQueries()),
+                        statistics.getEntityLoadCount(), statistics.getEntityInsertCount(),
+                        statistics.getEntityUpdateCount(), statistics.getEntityDeleteCount())
+                .isLessThanOrEqualTo(budget);
+    }
+}